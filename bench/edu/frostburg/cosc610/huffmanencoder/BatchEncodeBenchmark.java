@@ -0,0 +1,95 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding many short records one call at a time against encoding
+ * them in one batch.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchEncodeBenchmark {
+
+    private static final int RECORD_COUNT = 10000;
+
+    @Param({"8", "64"})
+    int recordLength;
+
+    private char[] text;
+    private int[] offsets;
+    private List<String> records;
+    private HuffmanEncoder encoder;
+    private EncodedBatch batch;
+
+    @Setup
+    public void setup() {
+        text = BenchmarkData.text(256, RECORD_COUNT * recordLength, "zipf");
+        encoder = new HuffmanEncoder(BenchmarkData.frequencies(text, 256));
+        offsets = new int[RECORD_COUNT + 1];
+        String[] strings = new String[RECORD_COUNT];
+        for (int i = 0; i < RECORD_COUNT; ++i) {
+            offsets[i + 1] = offsets[i] + recordLength;
+            strings[i] = new String(text, offsets[i], recordLength);
+        }
+        records = Arrays.asList(strings);
+        batch = new EncodedBatch();
+    }
+
+    @Benchmark
+    public int encodeEachString() {
+        int total = 0;
+        for (String record : records) {
+            total += encoder.encode(record).length();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int encodeEachStream() throws IOException {
+        int total = 0;
+        for (String record : records) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (BitOutputStream out = new BitOutputStream(bytes)) {
+                encoder.encode(record.toCharArray(), 0, record.length(), out);
+            }
+            total += bytes.size();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int encodeBatchList() {
+        batch.clear();
+        encoder.encode(records, batch);
+        return batch.getByteCount();
+    }
+
+    @Benchmark
+    public int encodeBatchArray() {
+        batch.clear();
+        encoder.encode(text, offsets, RECORD_COUNT, batch);
+        return batch.getByteCount();
+    }
+}
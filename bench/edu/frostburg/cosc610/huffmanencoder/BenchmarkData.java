@@ -0,0 +1,76 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.util.Random;
+
+/**
+ * Generates the reproducible inputs shared by the benchmarks.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+final class BenchmarkData {
+
+    private static final long SEED = 610;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Generates random text over the first alphabetSize chars
+     *
+     * @param alphabetSize the number of distinct chars that may appear
+     * @param length the number of chars to generate
+     * @param skew "uniform" for equally likely chars or "zipf" for a Zipf
+     * distribution where the k-th most likely char has weight 1/k
+     * @return the generated text
+     */
+    static char[] text(int alphabetSize, int length, String skew) {
+        Random random = new Random(SEED);
+        char[] text = new char[length];
+        if ("uniform".equals(skew)) {
+            for (int i = 0; i < length; ++i) {
+                text[i] = (char) random.nextInt(alphabetSize);
+            }
+            return text;
+        }
+        if (!"zipf".equals(skew)) {
+            throw new IllegalArgumentException(String.format("%s is not a supported skew.", skew));
+        }
+        double[] cumulative = new double[alphabetSize];
+        double total = 0;
+        for (int i = 0; i < alphabetSize; ++i) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < length; ++i) {
+            double target = random.nextDouble() * total;
+            int low = 0;
+            int high = alphabetSize - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulative[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            text[i] = (char) low;
+        }
+        return text;
+    }
+
+    /**
+     * Counts the chars of the given text into a table of the given size
+     *
+     * @param text the text to count
+     * @param alphabetSize the size of the frequency table
+     * @return the frequency table
+     */
+    static int[] frequencies(char[] text, int alphabetSize) {
+        int[] frequencies = new int[alphabetSize];
+        for (char c : text) {
+            frequencies[c]++;
+        }
+        return frequencies;
+    }
+}
@@ -0,0 +1,128 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of encoding and decoding a block of text.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodeBenchmark {
+
+    @Param({"256", "65536"})
+    int alphabetSize;
+
+    @Param({"4096", "1048576"})
+    int inputSize;
+
+    @Param({"uniform", "zipf"})
+    String skew;
+
+    private char[] text;
+    private HuffmanEncoder encoder;
+    private HuffmanDecoder decoder;
+    private byte[] encoded;
+    private byte[][] interleaved;
+    private char[] decoded;
+
+    @Setup
+    public void setup() throws IOException {
+        text = BenchmarkData.text(alphabetSize, inputSize, skew);
+        encoder = new HuffmanEncoder(BenchmarkData.frequencies(text, alphabetSize));
+        decoder = new HuffmanDecoder(encoder);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BitOutputStream out = new BitOutputStream(bytes)) {
+            encoder.encode(text, 0, text.length, out);
+        }
+        encoded = bytes.toByteArray();
+        ByteArrayOutputStream[] payloads = new ByteArrayOutputStream[HuffmanEncoder.STREAMS];
+        BitOutputStream[] streams = new BitOutputStream[HuffmanEncoder.STREAMS];
+        for (int i = 0; i < streams.length; ++i) {
+            payloads[i] = new ByteArrayOutputStream();
+            streams[i] = new BitOutputStream(payloads[i]);
+        }
+        encoder.encode(text, 0, text.length, streams);
+        interleaved = new byte[streams.length][];
+        for (int i = 0; i < streams.length; ++i) {
+            streams[i].close();
+            interleaved[i] = payloads[i].toByteArray();
+        }
+        decoded = new char[inputSize];
+    }
+
+    @Benchmark
+    public long encodePacked() throws IOException {
+        BitOutputStream out = new BitOutputStream(new NullOutputStream());
+        encoder.encode(text, 0, text.length, out);
+        out.close();
+        return out.getBitCount();
+    }
+
+    @Benchmark
+    public long encodeInterleaved() throws IOException {
+        BitOutputStream[] streams = new BitOutputStream[HuffmanEncoder.STREAMS];
+        for (int i = 0; i < streams.length; ++i) {
+            streams[i] = new BitOutputStream(new NullOutputStream());
+        }
+        encoder.encode(text, 0, text.length, streams);
+        long bits = 0;
+        for (BitOutputStream out : streams) {
+            out.close();
+            bits += out.getBitCount();
+        }
+        return bits;
+    }
+
+    @Benchmark
+    public String encodeString() {
+        return encoder.encode(text, text.length);
+    }
+
+    @Benchmark
+    public char[] decode() throws IOException {
+        decoder.decode(new BitInputStream(new ByteArrayInputStream(encoded)), decoded, decoded.length);
+        return decoded;
+    }
+
+    @Benchmark
+    public char[] decodeInterleaved() throws IOException {
+        decoder.decode(interleaved, decoded, decoded.length);
+        return decoded;
+    }
+
+    /*
+     * An OutputStream that discards everything written to it
+     */
+    private static class NullOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
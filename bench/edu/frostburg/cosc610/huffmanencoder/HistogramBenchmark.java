@@ -0,0 +1,91 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures frequency analysis, from the scalar loop used by
+ * HuffmanEncoder(String) to the interleaved and memory-mapped counters of the
+ * Histogram.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistogramBenchmark {
+
+    @Param({"256", "65536"})
+    int alphabetSize;
+
+    @Param({"4096", "1048576"})
+    int inputSize;
+
+    @Param({"uniform", "zipf"})
+    String skew;
+
+    private char[] text;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        text = BenchmarkData.text(alphabetSize, inputSize, skew);
+        //the file holds the low byte of each char so that it can be analyzed as text or as bytes
+        byte[] bytes = new byte[text.length];
+        for (int i = 0; i < text.length; ++i) {
+            bytes[i] = (byte) (text[i] & 0x7F);
+        }
+        file = Files.createTempFile("histogram", ".txt");
+        Files.write(file, bytes);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public int[] scalar() {
+        int[] frequencies = new int[alphabetSize];
+        for (char c : text) {
+            frequencies[c]++;
+        }
+        return frequencies;
+    }
+
+    @Benchmark
+    public int[] interleaved() {
+        int[] frequencies = new int[alphabetSize];
+        Histogram.count(text, 0, text.length, frequencies);
+        return frequencies;
+    }
+
+    @Benchmark
+    public int[] mappedFile() throws IOException {
+        return Histogram.count(file, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public HuffmanEncoder analyzeFrequencies() {
+        return new HuffmanEncoder(file.toString());
+    }
+}
@@ -0,0 +1,98 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures inserting a batch of elements into the PriorityQueue and removing
+ * them again, against the same work on a binary and a 4-ary IntHeap, and
+ * against building an IntHeap in one pass with heapify.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriorityQueueBenchmark {
+
+    @Param({"256", "65536"})
+    int alphabetSize;
+
+    private Integer[] elements;
+    private int[] priorities;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(610);
+        elements = new Integer[alphabetSize];
+        priorities = new int[alphabetSize];
+        for (int i = 0; i < alphabetSize; ++i) {
+            elements[i] = i;
+            priorities[i] = random.nextInt(1 << 20);
+        }
+    }
+
+    @Benchmark
+    public long insertRemove() {
+        PriorityQueue<Integer> queue = new PriorityQueue<>(100);
+        for (int i = 0; i < elements.length; ++i) {
+            queue.insert(elements[i], priorities[i]);
+        }
+        long sum = 0;
+        while (queue.size() != 0) {
+            sum += queue.remove();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intHeapBinary() {
+        return insertRemove(new IntHeap(alphabetSize, IntHeap.BINARY));
+    }
+
+    @Benchmark
+    public long intHeapQuaternary() {
+        return insertRemove(new IntHeap(alphabetSize, IntHeap.QUATERNARY));
+    }
+
+    @Benchmark
+    public long intHeapHeapify() {
+        return removeAll(IntHeap.heapify(priorities, alphabetSize, IntHeap.QUATERNARY));
+    }
+
+    /*
+     * Inserts every priority into the given heap and removes them again
+     */
+    private long insertRemove(IntHeap heap) {
+        for (int i = 0; i < priorities.length; ++i) {
+            heap.insert(i, priorities[i]);
+        }
+        return removeAll(heap);
+    }
+
+    /*
+     * Removes every index from the given heap
+     */
+    private static long removeAll(IntHeap heap) {
+        long sum = 0;
+        while (heap.size() != 0) {
+            sum += heap.remove();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of turning a frequency table into codes.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeBuildBenchmark {
+
+    @Param({"256", "65536"})
+    int alphabetSize;
+
+    @Param({"1048576"})
+    int inputSize;
+
+    @Param({"uniform", "zipf"})
+    String skew;
+
+    private int[] frequencies;
+    private HuffmanTree<Character> tree;
+
+    @Setup
+    public void setup() {
+        frequencies = BenchmarkData.frequencies(BenchmarkData.text(alphabetSize, inputSize, skew), alphabetSize);
+        tree = new HuffmanEncoder(frequencies).getTree();
+    }
+
+    @Benchmark
+    public HuffmanEncoder heapTree() {
+        return new HuffmanEncoder(frequencies, Codebook.MAX_LENGTH, TreeBuilder.HEAP);
+    }
+
+    @Benchmark
+    public HuffmanEncoder twoQueueTree() {
+        return new HuffmanEncoder(frequencies, Codebook.MAX_LENGTH, TreeBuilder.TWO_QUEUE);
+    }
+
+    @Benchmark
+    public int[] packageMerge() {
+        return PackageMerge.lengths(frequencies, 15);
+    }
+
+    @Benchmark
+    public Map<Character, String> getMap() {
+        //getMap caches its result, so copy the tree's root into a fresh tree each time
+        return new HuffmanTree<>(tree, new HuffmanTree<>((char) 0xFFFF, 0)).getMap();
+    }
+}
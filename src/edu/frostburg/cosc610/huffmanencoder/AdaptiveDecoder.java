@@ -0,0 +1,114 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * A Reader that decodes a stream written by an AdaptiveEncoder. The decoder
+ * rebuilds its codes from the decoded characters exactly as the encoder did,
+ * so characters are returned as soon as their codes arrive. A read returns
+ * early at a flush marker, so the characters written before a flush are
+ * delivered without waiting for the encoder to write more.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class AdaptiveDecoder extends Reader {
+
+    private final InputStream in;
+    private AdaptiveModel model;
+    private HuffmanDecoder decoder;
+    private BitInputStream bits;
+    private boolean finished;
+
+    /**
+     * Creates a new AdaptiveDecoder
+     *
+     * @param in the stream the encoded characters are read from
+     */
+    public AdaptiveDecoder(InputStream in) {
+        if (in == null) {
+            throw new IllegalArgumentException("Cannot decode from a null stream");
+        }
+        this.in = in;
+    }
+
+    /**
+     * Reads decoded characters into the given array
+     *
+     * @param characters the array the characters are stored in
+     * @param offset the index the first character is stored at
+     * @param length the maximum number of characters to read
+     * @return the number of characters read, or -1 at the end of the stream
+     * @throws IOException if the stream cannot be read or is invalid
+     */
+    @Override
+    public int read(char[] characters, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (finished) {
+            return -1;
+        }
+        if (model == null) {
+            start();
+        }
+        int escape = model.getEscape();
+        int end = model.getEnd();
+        int count = 0;
+        while (count < length) {
+            int symbol = decoder.decodeSymbol(bits);
+            if (symbol == end) {
+                finished = true;
+                break;
+            }
+            int c = symbol;
+            if (symbol == escape) {
+                c = bits.read(16);
+                if (c == AdaptiveEncoder.FLUSH) {
+                    //a flush marker; the encoder padded it to a byte boundary
+                    bits.align();
+                    if (count != 0) {
+                        break;
+                    }
+                    continue;
+                }
+            }
+            characters[offset + count++] = (char) c;
+            if (model.update(symbol)) {
+                decoder = new HuffmanDecoder(model.getCodebook());
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    /**
+     * Closes the underlying stream
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /*
+     * Reads the stream header and the start of the ADAPTIVE block
+     */
+    private void start() throws IOException {
+        BlockFormat.readStreamHeader(in);
+        int type = BlockFormat.readType(in);
+        if (type != BlockFormat.ADAPTIVE) {
+            throw new IOException(String.format("%d is not a valid block type.", type));
+        }
+        int alphabetSize = VarInt.readInt(in);
+        int interval = VarInt.readInt(in);
+        if (alphabetSize < 1 || alphabetSize > 65536 || interval < 1) {
+            throw new IOException("The adaptive block has an invalid alphabet size or rebuild interval.");
+        }
+        model = new AdaptiveModel(alphabetSize, interval);
+        decoder = new HuffmanDecoder(model.getCodebook());
+        bits = new BitInputStream(in);
+    }
+}
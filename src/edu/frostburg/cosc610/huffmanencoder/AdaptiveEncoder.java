@@ -0,0 +1,199 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * A Writer that Huffman encodes the characters written to it in one pass
+ * without knowing their frequencies in advance.<p>
+ * Encoder and decoder start from the same flat model and rebuild their codes
+ * from the characters seen so far after every rebuild interval, as described
+ * by AdaptiveModel. No frequency pass or codebook is needed, so every
+ * character can be written as soon as it arrives, which suits sockets and
+ * growing log files. The cost of a rebuild depends only on the alphabet size,
+ * so the work per character stays bounded however long the stream runs. Chars
+ * outside the alphabet are escaped and written as 16 raw bits.<p>
+ * Flushing writes a flush marker: the escape symbol followed by the raw value
+ * 0, which no escaped char can have because every char below the alphabet size
+ * is coded directly. The marker is padded to a byte boundary, so every code
+ * written before it reaches the underlying stream, and the decoder returns
+ * the characters before it without waiting for more data. The marker does not
+ * update the model and costs a few bytes, so flushing after every character
+ * hurts compression.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class AdaptiveEncoder extends Writer {
+
+    /**
+     * The default number of chars coded directly
+     */
+    public static final int DEFAULT_ALPHABET_SIZE = 256;
+
+    /**
+     * The default number of characters between rebuilds of the codes
+     */
+    public static final int DEFAULT_INTERVAL = 4096;
+
+    /**
+     * The raw value after an escape that marks a flush
+     */
+    static final int FLUSH = 0;
+
+    private final OutputStream out;
+    private final BitOutputStream bits;
+    private final AdaptiveModel model;
+    private final int alphabetSize;
+    private final int interval;
+    private long[][] codePages;
+    private byte[][] lengthPages;
+    private long inputSize;
+    private boolean started;
+    private boolean closed;
+
+    /**
+     * Creates a new AdaptiveEncoder with the default alphabet size and
+     * rebuild interval
+     *
+     * @param out the stream the encoded characters are written to
+     */
+    public AdaptiveEncoder(OutputStream out) {
+        this(out, DEFAULT_ALPHABET_SIZE, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Creates a new AdaptiveEncoder with the given alphabet size and rebuild
+     * interval
+     *
+     * @param out the stream the encoded characters are written to
+     * @param alphabetSize the number of chars coded directly, starting at 0;
+     * between 1 and 65536
+     * @param interval the number of characters between rebuilds of the codes
+     */
+    public AdaptiveEncoder(OutputStream out, int alphabetSize, int interval) {
+        if (out == null) {
+            throw new IllegalArgumentException("Cannot encode to a null stream");
+        }
+        this.model = new AdaptiveModel(alphabetSize, interval);
+        this.out = out;
+        this.bits = new BitOutputStream(out);
+        this.alphabetSize = alphabetSize;
+        this.interval = interval;
+        useCodebook(model.getCodebook());
+    }
+
+    /**
+     * Encodes the given characters
+     *
+     * @param characters the array holding the characters to write
+     * @param offset the index of the first character to write
+     * @param length the number of characters to write
+     * @throws IOException if the encoder is closed or the stream cannot be
+     * written
+     */
+    @Override
+    public void write(char[] characters, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Attempted to write to a closed encoder.");
+        }
+        start();
+        int escape = model.getEscape();
+        int end = offset + length;
+        for (int i = offset; i < end; ++i) {
+            char c = characters[i];
+            int symbol = c < alphabetSize ? c : escape;
+            writeCode(symbol);
+            if (symbol == escape) {
+                bits.write(c, 16);
+            }
+            if (model.update(symbol)) {
+                useCodebook(model.getCodebook());
+            }
+        }
+        inputSize += length;
+    }
+
+    /**
+     * Gets the number of characters written so far
+     *
+     * @return the number of characters written so far
+     */
+    public long getInputSize() {
+        return inputSize;
+    }
+
+    /**
+     * Writes a flush marker padded to a byte boundary and flushes the
+     * underlying stream, so that a decoder on the other side can return every
+     * character written so far
+     *
+     * @throws IOException if the encoder is closed or the stream cannot be
+     * written
+     */
+    @Override
+    public void flush() throws IOException {
+        if (closed) {
+            throw new IOException("Attempted to flush a closed encoder.");
+        }
+        if (started) {
+            int escape = model.getEscape();
+            writeCode(escape);
+            bits.write(FLUSH, 16);
+            bits.align();
+        }
+        bits.flush();
+    }
+
+    /**
+     * Writes the END symbol and closes the underlying stream
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            start();
+            int end = model.getEnd();
+            writeCode(end);
+        } finally {
+            bits.close();
+        }
+    }
+
+    /*
+     * Writes the stream header and the start of the ADAPTIVE block before the first code
+     */
+    private void start() throws IOException {
+        if (started) {
+            return;
+        }
+        started = true;
+        BlockFormat.writeStreamHeader(out);
+        out.write(BlockFormat.ADAPTIVE);
+        VarInt.write(out, alphabetSize);
+        VarInt.write(out, interval);
+    }
+
+    /*
+     * Writes the code of the given symbol, which always has one in the model
+     */
+    private void writeCode(int symbol) throws IOException {
+        int page = symbol >>> Codebook.PAGE_BITS;
+        int index = symbol & (Codebook.PAGE_SIZE - 1);
+        bits.write(codePages[page][index], lengthPages[page][index]);
+    }
+
+    /*
+     * Switches the lookup tables to the given codebook
+     */
+    private void useCodebook(Codebook codebook) {
+        codePages = codebook.codes;
+        lengthPages = codebook.lengths;
+    }
+}
@@ -0,0 +1,115 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+/**
+ * The frequency model shared by an AdaptiveEncoder and an AdaptiveDecoder.<p>
+ * Every symbol of the alphabet starts with a frequency of 1 so that it always
+ * has a code. Two extra symbols follow the alphabet: ESCAPE, which announces a
+ * char outside the alphabet sent as 16 raw bits, and END, which ends the
+ * stream. Each coded symbol is counted, and after every interval symbols the
+ * codebook is rebuilt from the counts with the two-queue builder. When the
+ * counts grow past MAX_TOTAL, or 16 per symbol for large alphabets, they are
+ * halved, which bounds the code lengths and lets the model follow changes in
+ * the input. Both sides update the model
+ * with the same symbols in the same order, so they always hold the same
+ * codebook.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+final class AdaptiveModel {
+
+    /**
+     * The total frequency above which every count is halved
+     */
+    static final int MAX_TOTAL = 1 << 16;
+
+    private final int[] frequencies;
+    private final int interval;
+    private final int limit;
+    private int total;
+    private int pending;
+    private Codebook codebook;
+
+    /**
+     * Creates a new AdaptiveModel in which every symbol is equally likely
+     *
+     * @param alphabetSize the number of chars coded directly; between 1 and
+     * 65536
+     * @param interval the number of symbols between rebuilds; at least 1
+     */
+    AdaptiveModel(int alphabetSize, int interval) {
+        if (alphabetSize < 1 || alphabetSize > 65536) {
+            throw new IllegalArgumentException(String.format("%d is an invalid alphabet size. The maximum is 65536.", alphabetSize));
+        }
+        if (interval < 1) {
+            throw new IllegalArgumentException("The minimum allowable rebuild interval is 1");
+        }
+        this.frequencies = new int[alphabetSize + 2];
+        this.interval = interval;
+        this.limit = Math.max(MAX_TOTAL, 16 * frequencies.length);
+        for (int i = 0; i < frequencies.length; ++i) {
+            frequencies[i] = 1;
+        }
+        total = frequencies.length;
+        rebuild();
+    }
+
+    /**
+     * Gets the symbol that announces a char outside the alphabet
+     *
+     * @return the escape symbol
+     */
+    int getEscape() {
+        return frequencies.length - 2;
+    }
+
+    /**
+     * Gets the symbol that ends the stream
+     *
+     * @return the end symbol
+     */
+    int getEnd() {
+        return frequencies.length - 1;
+    }
+
+    /**
+     * Gets the codebook for the next symbol
+     *
+     * @return the current codebook
+     */
+    Codebook getCodebook() {
+        return codebook;
+    }
+
+    /**
+     * Counts the given symbol and rebuilds the codebook if the interval has
+     * passed
+     *
+     * @param symbol the symbol that was just coded
+     * @return true if the codebook was rebuilt
+     */
+    boolean update(int symbol) {
+        frequencies[symbol]++;
+        ++total;
+        if (++pending < interval) {
+            return false;
+        }
+        if (total > limit) {
+            total = 0;
+            for (int i = 0; i < frequencies.length; ++i) {
+                frequencies[i] = (frequencies[i] + 1) >>> 1;
+                total += frequencies[i];
+            }
+        }
+        rebuild();
+        return true;
+    }
+
+    /*
+     * Builds the codebook from the current frequencies
+     */
+    private void rebuild() {
+        codebook = new HuffmanEncoder(frequencies, Codebook.MAX_LENGTH, TreeBuilder.TWO_QUEUE).getCodebook();
+        pending = 0;
+    }
+}
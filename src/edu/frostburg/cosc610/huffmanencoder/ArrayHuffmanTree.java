@@ -0,0 +1,183 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A Huffman Tree stored in flat arrays.<p>
+ * Nodes are identified by index. The leaves come first, ordered by increasing
+ * weight, and are followed by the internal nodes in the order they were
+ * created, so the root is always the last node and every parent has a larger
+ * index than its children. Building a tree costs a handful of array
+ * allocations instead of one object per node, and every traversal is an
+ * iterative pass over the arrays, so even a degenerate tree cannot overflow the
+ * stack.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class ArrayHuffmanTree {
+
+    private final int alphabetSize;
+    private final int leafCount;
+    private final int[] symbols;
+    private final long[] weights;
+    private final int[] parents;
+    private final int[] children;
+
+    /*
+     * Creates a tree from arrays filled in by a builder
+     */
+    ArrayHuffmanTree(int alphabetSize, int[] symbols, long[] weights, int[] parents, int[] children) {
+        this.alphabetSize = alphabetSize;
+        this.leafCount = symbols.length;
+        this.symbols = symbols;
+        this.weights = weights;
+        this.parents = parents;
+        this.children = children;
+    }
+
+    /**
+     * Builds a tree for the given frequency table with the two-queue algorithm
+     *
+     * @param frequencies the frequency of each symbol
+     * @return the tree
+     */
+    public static ArrayHuffmanTree build(int[] frequencies) {
+        return TwoQueueBuilder.build(frequencies);
+    }
+
+    /**
+     * Gets the number of nodes in the tree
+     *
+     * @return the number of nodes in the tree
+     */
+    public int size() {
+        return weights.length;
+    }
+
+    /**
+     * Gets the index of the root node, or -1 if the tree is empty
+     *
+     * @return the index of the root node
+     */
+    public int getRoot() {
+        return weights.length - 1;
+    }
+
+    /**
+     * Returns true if the given node is a leaf
+     *
+     * @param node the index of the node
+     * @return true if the given node is a leaf
+     */
+    public boolean isLeaf(int node) {
+        return node < leafCount;
+    }
+
+    /**
+     * Gets the symbol stored in the given leaf
+     *
+     * @param node the index of the leaf
+     * @return the symbol stored in the leaf
+     */
+    public int getSymbol(int node) {
+        return symbols[node];
+    }
+
+    /**
+     * Gets the left child of the given internal node
+     *
+     * @param node the index of the internal node
+     * @return the index of the left child
+     */
+    public int getLeft(int node) {
+        return children[2 * (node - leafCount)];
+    }
+
+    /**
+     * Gets the right child of the given internal node
+     *
+     * @param node the index of the internal node
+     * @return the index of the right child
+     */
+    public int getRight(int node) {
+        return children[2 * (node - leafCount) + 1];
+    }
+
+    /**
+     * Gets the parent of the given node
+     *
+     * @param node the index of the node
+     * @return the index of the parent, or -1 for the root
+     */
+    public int getParent(int node) {
+        return node == getRoot() ? -1 : parents[node];
+    }
+
+    /**
+     * Gets the total weight of the given node's subtree
+     *
+     * @param node the index of the node
+     * @return the weight of the node
+     */
+    public long getWeight(int node) {
+        return weights[node];
+    }
+
+    /**
+     * Returns the priority of the root node
+     *
+     * @return the priority of the root node, or 0 if the tree is empty
+     */
+    public long getPriority() {
+        return weights.length == 0 ? 0 : weights[getRoot()];
+    }
+
+    /**
+     * Gets the depth of every leaf, indexed by symbol. A tree with a single
+     * leaf gives it a depth of 0.
+     *
+     * @return the code length of each symbol; 0 for symbols not in the tree
+     */
+    public int[] getCodeLengths() {
+        int[] lengths = new int[alphabetSize];
+        if (weights.length == 0) {
+            return lengths;
+        }
+        //parents have larger indices than their children, so one backwards pass computes every depth
+        int[] depths = new int[weights.length];
+        for (int node = weights.length - 2; node >= 0; --node) {
+            depths[node] = depths[parents[node]] + 1;
+        }
+        for (int leaf = 0; leaf < leafCount; ++leaf) {
+            lengths[symbols[leaf]] = depths[leaf];
+        }
+        return lengths;
+    }
+
+    /**
+     * Gets a map containing the symbols and the codes given by the shape of
+     * the tree, where a left branch is a 0 and a right branch is a 1
+     *
+     * @return a map containing the symbols as keys and their associated codes
+     * as values
+     */
+    public Map<Integer, String> getMap() {
+        Map<Integer, String> map = new HashMap<>();
+        if (weights.length == 0) {
+            return map;
+        }
+        String[] codes = new String[weights.length];
+        codes[getRoot()] = "";
+        //children have smaller indices than their parents, so a backwards pass visits parents first
+        for (int node = getRoot(); node >= leafCount; --node) {
+            codes[getLeft(node)] = codes[node] + '0';
+            codes[getRight(node)] = codes[node] + '1';
+        }
+        for (int leaf = 0; leaf < leafCount; ++leaf) {
+            map.put(symbols[leaf], codes[leaf]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,156 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A stream that reads bits packed most significant bit first, as written by a
+ * BitOutputStream.<p>
+ * Bytes are pulled from the underlying stream in large blocks and kept in a
+ * 64-bit accumulator so that up to 32 bits can be peeked at once. Peeking past
+ * the end of the data yields zero bits, but consuming them throws an
+ * EOFException. The underlying stream is only read when the bits asked for
+ * are not already buffered, so a reader on a socket or growing file can
+ * consume everything that has arrived without waiting for more.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class BitInputStream implements Closeable {
+
+    /**
+     * The maximum number of bits that may be peeked or read in a single call
+     */
+    public static final int MAX_BITS = 32;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private long accumulator;
+    private int available;
+    private int padding;
+
+    /**
+     * Creates a new BitInputStream that reads from the given stream
+     *
+     * @param in the underlying input stream
+     */
+    public BitInputStream(InputStream in) {
+        if (in == null) {
+            throw new IllegalArgumentException("Cannot read bits from a null stream");
+        }
+        this.in = in;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Returns the next length bits without consuming them
+     *
+     * @param length the number of bits to peek; between 0 and MAX_BITS
+     * @return the next length bits, right-aligned
+     * @throws IOException if the underlying stream cannot be read
+     */
+    public int peek(int length) throws IOException {
+        if (length < 0 || length > MAX_BITS) {
+            throw new IllegalArgumentException(String.format("%d is an invalid bit length. The maximum is %d.", length, MAX_BITS));
+        }
+        if (available < length) {
+            refill(length);
+        }
+        return (int) ((accumulator >>> (available - length)) & ((1L << length) - 1));
+    }
+
+    /**
+     * Consumes the given number of bits
+     *
+     * @param length the number of bits to consume; between 0 and MAX_BITS
+     * @throws IOException if the underlying stream cannot be read or the end
+     * of the data is passed
+     */
+    public void skip(int length) throws IOException {
+        if (length < 0 || length > MAX_BITS) {
+            throw new IllegalArgumentException(String.format("%d is an invalid bit length. The maximum is %d.", length, MAX_BITS));
+        }
+        if (available < length) {
+            refill(length);
+        }
+        available -= length;
+        if (available < padding) {
+            throw new EOFException("Attempted to read past the end of the bit stream.");
+        }
+    }
+
+    /**
+     * Reads and consumes the given number of bits
+     *
+     * @param length the number of bits to read; between 0 and MAX_BITS
+     * @return the bits read, right-aligned
+     * @throws IOException if the underlying stream cannot be read or the end
+     * of the data is passed
+     */
+    public int read(int length) throws IOException {
+        int bits = peek(length);
+        skip(length);
+        return bits;
+    }
+
+    /**
+     * Reads and consumes a single bit
+     *
+     * @return the bit read
+     * @throws IOException if the underlying stream cannot be read or the end
+     * of the data is passed
+     */
+    public int readBit() throws IOException {
+        return read(1);
+    }
+
+    /**
+     * Discards the bits left in the current byte, so the next read starts on
+     * the byte boundary that a BitOutputStream reached with align()
+     */
+    public void align() {
+        available -= available & 7;
+    }
+
+    /**
+     * Closes the underlying stream
+     *
+     * @throws IOException if the underlying stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /*
+     * Fills the accumulator with as many whole bytes as it can hold without blocking once length bits are available.
+     * Once the underlying stream is exhausted, zero bytes are appended and counted as padding.
+     */
+    private void refill(int length) throws IOException {
+        while (available <= 56) {
+            if (position == limit && padding == 0) {
+                if (available >= length) {
+                    return;
+                }
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit < 0) {
+                    limit = 0;
+                }
+            }
+            if (position < limit) {
+                accumulator = (accumulator << 8) | (buffer[position++] & 0xFF);
+            } else {
+                accumulator <<= 8;
+                padding += 8;
+            }
+            available += 8;
+        }
+    }
+}
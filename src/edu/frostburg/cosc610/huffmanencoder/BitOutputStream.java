@@ -0,0 +1,154 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A stream that packs variable-length bit codes into bytes.<p>
+ * Bits are written most significant bit first. Pending bits are collected in a
+ * 64-bit accumulator and whole bytes are drained into an internal buffer, so
+ * the underlying stream only sees large block writes. The final partial byte
+ * is padded with zero bits when the stream is aligned or closed.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class BitOutputStream implements Closeable, Flushable {
+
+    /**
+     * The maximum number of bits that may be written in a single call
+     */
+    public static final int MAX_BITS = 56;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+    private long accumulator;
+    private int pending;
+    private long bitCount;
+
+    /**
+     * Creates a new BitOutputStream that writes to the given stream
+     *
+     * @param out the underlying output stream
+     */
+    public BitOutputStream(OutputStream out) {
+        if (out == null) {
+            throw new IllegalArgumentException("Cannot write bits to a null stream");
+        }
+        this.out = out;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Writes the low length bits of the given value, most significant bit
+     * first
+     *
+     * @param bits the bits to write, right-aligned
+     * @param length the number of bits to write; between 0 and MAX_BITS
+     * @throws IOException if the underlying stream cannot be written
+     */
+    public void write(long bits, int length) throws IOException {
+        if (length < 0 || length > MAX_BITS) {
+            throw new IllegalArgumentException(String.format("%d is an invalid bit length. The maximum is %d.", length, MAX_BITS));
+        }
+        if (length == 0) {
+            return;
+        }
+        accumulator = (accumulator << length) | (bits & (-1L >>> (64 - length)));
+        pending += length;
+        bitCount += length;
+        while (pending >= 8) {
+            pending -= 8;
+            if (position == buffer.length) {
+                drain();
+            }
+            buffer[position++] = (byte) (accumulator >>> pending);
+        }
+    }
+
+    /**
+     * Writes a single bit
+     *
+     * @param bit the bit to write; any non-zero value is written as 1
+     * @throws IOException if the underlying stream cannot be written
+     */
+    public void writeBit(int bit) throws IOException {
+        write(bit == 0 ? 0 : 1, 1);
+    }
+
+    /**
+     * Pads the current byte with zero bits so the next write starts on a byte
+     * boundary
+     *
+     * @throws IOException if the underlying stream cannot be written
+     */
+    public void align() throws IOException {
+        if (pending != 0) {
+            write(0, 8 - pending);
+        }
+    }
+
+    /**
+     * Gets the number of bits written so far, including any padding added by
+     * align()
+     *
+     * @return the number of bits written so far
+     */
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Gets the number of bytes that the bits written so far occupy once padded
+     * to a whole byte
+     *
+     * @return the number of bytes the written bits occupy
+     */
+    public long getByteCount() {
+        return (bitCount + 7) >>> 3;
+    }
+
+    /**
+     * Writes all complete bytes to the underlying stream and flushes it. A
+     * trailing partial byte is kept until more bits arrive or the stream is
+     * aligned.
+     *
+     * @throws IOException if the underlying stream cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Pads the final byte with zero bits, writes it, and closes the underlying
+     * stream
+     *
+     * @throws IOException if the underlying stream cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            align();
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    /*
+     * Writes the buffered bytes to the underlying stream
+     */
+    private void drain() throws IOException {
+        if (position != 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
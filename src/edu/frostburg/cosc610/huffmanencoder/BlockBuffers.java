@@ -0,0 +1,59 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * The arrays a stream reuses while it reads or writes one block after
+ * another.<p>
+ * HuffmanInputStream and HuffmanOutputStream each keep one and pass it to
+ * the BlockFormat helpers, so that the encoded payload, the decoded bytes and
+ * the decoder's trie and table are allocated once and then only grow when a
+ * block is larger than any before it. The arrays are overwritten by the next
+ * block, so the bytes of a block are only valid until then.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+final class BlockBuffers {
+
+    byte[] payload;
+    byte[] block;
+    HuffmanDecoder decoder;
+    private ByteArrayOutputStream encoded;
+
+    /**
+     * Creates a new BlockBuffers with empty arrays
+     */
+    BlockBuffers() {
+        this.payload = new byte[0];
+        this.block = new byte[0];
+    }
+
+    /**
+     * Gets an array for at least the given number of decoded bytes
+     *
+     * @param count the number of bytes in the block
+     * @return the decode array
+     */
+    byte[] block(int count) {
+        if (block.length < count) {
+            block = new byte[count];
+        }
+        return block;
+    }
+
+    /**
+     * Gets an empty stream for the payload of a block being written
+     *
+     * @param count the number of symbols in the block, used to size the
+     * stream the first time
+     * @return the payload stream
+     */
+    ByteArrayOutputStream encoded(int count) {
+        if (encoded == null) {
+            encoded = new ByteArrayOutputStream(count / 2 + 16);
+        }
+        encoded.reset();
+        return encoded;
+    }
+}
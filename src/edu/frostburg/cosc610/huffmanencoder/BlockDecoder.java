@@ -0,0 +1,92 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * A Reader that decodes a stream written by a BlockEncoder. Blocks are decoded
+ * one at a time as the characters are read.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class BlockDecoder extends Reader {
+
+    private final InputStream in;
+    private char[] block;
+    private int position;
+    private boolean started;
+    private boolean finished;
+
+    /**
+     * Creates a new BlockDecoder
+     *
+     * @param in the stream the encoded blocks are read from
+     */
+    public BlockDecoder(InputStream in) {
+        if (in == null) {
+            throw new IllegalArgumentException("Cannot decode from a null stream");
+        }
+        this.in = in;
+        this.block = new char[0];
+    }
+
+    /**
+     * Reads decoded characters into the given array
+     *
+     * @param characters the array the characters are stored in
+     * @param offset the index the first character is stored at
+     * @param length the maximum number of characters to read
+     * @return the number of characters read, or -1 at the end of the stream
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * block
+     */
+    @Override
+    public int read(char[] characters, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (position == block.length) {
+            if (!nextBlock()) {
+                return -1;
+            }
+        }
+        int count = Math.min(length, block.length - position);
+        System.arraycopy(block, position, characters, offset, count);
+        position += count;
+        return count;
+    }
+
+    /**
+     * Closes the underlying stream
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /*
+     * Decodes the next block
+     * @return false if the END marker has been reached
+     */
+    private boolean nextBlock() throws IOException {
+        if (finished) {
+            return false;
+        }
+        if (!started) {
+            BlockFormat.readStreamHeader(in);
+            started = true;
+        }
+        char[] next = BlockFormat.readBlock(in);
+        if (next == null) {
+            finished = true;
+            return false;
+        }
+        block = next;
+        position = 0;
+        return true;
+    }
+}
@@ -0,0 +1,193 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * A Writer that Huffman encodes the characters written to it in a single
+ * pass.<p>
+ * Characters are collected in memory until a block is full, then the block is
+ * analyzed, encoded with its own codebook and written to the underlying stream.
+ * Input that fits in one block is therefore encoded exactly as a whole-file
+ * encoder would, while larger input never needs to be read twice or held in
+ * memory all at once. Blocks may optionally be written as interleaved
+ * substreams, which decode faster at the cost of a few bytes per block.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class BlockEncoder extends Writer {
+
+    /**
+     * The default number of characters in each block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 22;
+
+    private final OutputStream out;
+    private final char[] block;
+    private final long[] frequencies;
+    private final boolean interleaved;
+    private int size;
+    private long inputSize;
+    private boolean started;
+    private boolean closed;
+
+    /**
+     * Creates a new BlockEncoder with the default block size
+     *
+     * @param out the stream the encoded blocks are written to
+     */
+    public BlockEncoder(OutputStream out) {
+        this(out, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a new BlockEncoder with the given block size
+     *
+     * @param out the stream the encoded blocks are written to
+     * @param blockSize the maximum number of characters in each block
+     */
+    public BlockEncoder(OutputStream out, int blockSize) {
+        this(out, blockSize, false);
+    }
+
+    /**
+     * Creates a new BlockEncoder with the given block size that writes either
+     * single-stream or interleaved blocks
+     *
+     * @param out the stream the encoded blocks are written to
+     * @param blockSize the maximum number of characters in each block
+     * @param interleaved true to split every block into
+     * HuffmanEncoder.STREAMS interleaved substreams
+     */
+    public BlockEncoder(OutputStream out, int blockSize, boolean interleaved) {
+        if (out == null) {
+            throw new IllegalArgumentException("Cannot encode to a null stream");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The minimum allowable block size is 1");
+        }
+        this.out = out;
+        this.block = new char[blockSize];
+        this.frequencies = new long[65536];
+        this.interleaved = interleaved;
+    }
+
+    /**
+     * Writes the given characters, encoding every block that fills up
+     *
+     * @param characters the array holding the characters to write
+     * @param offset the index of the first character to write
+     * @param length the number of characters to write
+     * @throws IOException if the encoder is closed or the stream cannot be
+     * written
+     */
+    @Override
+    public void write(char[] characters, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Attempted to write to a closed encoder.");
+        }
+        while (length > 0) {
+            int count = Math.min(length, block.length - size);
+            System.arraycopy(characters, offset, block, size, count);
+            size += count;
+            inputSize += count;
+            offset += count;
+            length -= count;
+            if (size == block.length) {
+                writeBlock();
+            }
+        }
+    }
+
+    /**
+     * Writes every character that can be read from the given reader
+     *
+     * @param reader the reader to copy from
+     * @throws IOException if the reader cannot be read or the stream cannot
+     * be written
+     */
+    public void write(Reader reader) throws IOException {
+        char[] buffer = new char[8192];
+        int charsRead = reader.read(buffer);
+        while (charsRead != -1) {
+            write(buffer, 0, charsRead);
+            charsRead = reader.read(buffer);
+        }
+    }
+
+    /**
+     * Gets the number of characters written so far
+     *
+     * @return the number of characters written so far
+     */
+    public long getInputSize() {
+        return inputSize;
+    }
+
+    /**
+     * Gets the combined frequency table of every block encoded so far. The
+     * counts are kept in long counters; if they total more than
+     * Integer.MAX_VALUE, the table is scaled down as described in
+     * Histogram.toFrequencies.
+     *
+     * @return the frequency of each character across all encoded blocks
+     */
+    public int[] getFrequencies() {
+        return Histogram.toFrequencies(frequencies);
+    }
+
+    /**
+     * Flushes the underlying stream. A partially filled block is kept until it
+     * fills up or the encoder is closed, since ending it early would cost
+     * another codebook.
+     *
+     * @throws IOException if the stream cannot be flushed
+     */
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Encodes the final partial block, writes the END marker and closes the
+     * underlying stream
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (size != 0) {
+                writeBlock();
+            }
+            if (!started) {
+                BlockFormat.writeStreamHeader(out);
+            }
+            out.write(BlockFormat.END);
+        } finally {
+            out.close();
+        }
+    }
+
+    /*
+     * Encodes the buffered characters as a block
+     */
+    private void writeBlock() throws IOException {
+        if (!started) {
+            BlockFormat.writeStreamHeader(out);
+            started = true;
+        }
+        int[] blockFrequencies = interleaved ? BlockFormat.writeInterleavedBlock(block, 0, size, out) : BlockFormat.writeBlock(block, 0, size, out);
+        for (int i = 0; i < blockFrequencies.length; ++i) {
+            frequencies[i] += blockFrequencies[i];
+        }
+        size = 0;
+    }
+}
@@ -0,0 +1,1015 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The layout of a block encoded stream.<p>
+ * A stream starts with a magic number and a version byte and is followed by
+ * any number of blocks and an END marker. Every block starts with its type.
+ * A HUFFMAN block then holds the number of characters it encodes, its own
+ * codebook, the length of its payload in bytes, and the packed codes. An
+ * INDEX block may precede a run of blocks; it lists the encoded length and
+ * character count of each block in the run so that the run can be split up
+ * and decoded in parallel. Readers that do not need the index skip it. An
+ * ADAPTIVE block holds the alphabet size and rebuild interval of an
+ * AdaptiveModel followed by codes up to the model's END symbol; it has no
+ * length and is always the last block of its stream. A CONTEXT block codes
+ * bytes with order-1 tables: it holds the number of bytes, a ContextModel and
+ * the payload, laid out like a HUFFMAN block. An INTERLEAVED block is a
+ * HUFFMAN block whose symbols are split into HuffmanEncoder.STREAMS segments,
+ * each packed into its own substream; the codebook is followed by a jump table
+ * holding the byte length of every substream, and then the substreams
+ * themselves, so that all of them can be decoded in one loop.<p>
+ * Before a block is encoded, its size under each layout is estimated from its
+ * histogram, and the block is written in whichever layout is smallest. A
+ * STORED block holds the number of symbols and the symbols themselves, two
+ * bytes per char or one per byte, so incompressible data costs no encoding
+ * time and grows by only a few bytes. A RUN block holds the number of symbols
+ * followed by each run of equal symbols as the symbol and the run length, so
+ * long runs shrink far below the one bit per symbol that Huffman codes need.<p>
+ * A seekable byte stream ends with a DIRECTORY block after its last data
+ * block. It holds the number of blocks and, for each, its decoded size and
+ * its encoded size in bytes, so the offset of every block in both forms
+ * follows from a running sum. The END marker after it is followed by a
+ * trailer of TRAILER_SIZE bytes holding the offset of the DIRECTORY block
+ * from the start of the stream, which lets a reader find the directory from
+ * the end of a file. Sequential readers skip the directory and stop at END.<p>
+ * Byte streams use the same layout. Their symbols are byte values, so their
+ * codebooks have an alphabet of at most 256 symbols. Code point streams also
+ * use the same layout with whole Unicode code points as symbols; a block of
+ * chars is a valid block of code points, but not the other way around.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+final class BlockFormat {
+
+    static final int END = 0;
+    static final int HUFFMAN = 1;
+    static final int INDEX = 2;
+    static final int ADAPTIVE = 3;
+    static final int CONTEXT = 4;
+    static final int INTERLEAVED = 5;
+    static final int STORED = 6;
+    static final int RUN = 7;
+    static final int DIRECTORY = 8;
+    static final int MAX_INDEX_SIZE = 1 << 16;
+    static final int TRAILER_SIZE = 8;
+
+    private static final byte[] MAGIC = {'H', 'U', 'F'};
+    static final int HEADER_SIZE = MAGIC.length + 1;
+    private static final int VERSION = 1;
+    private static final int ALPHABET_SIZE = 65536;
+    //the largest array most JVMs can allocate
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private BlockFormat() {
+    }
+
+    /**
+     * Writes the magic number and version that start every stream
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    static void writeStreamHeader(OutputStream out) throws IOException {
+        out.write(MAGIC);
+        out.write(VERSION);
+    }
+
+    /**
+     * Reads and checks the magic number and version that start every stream
+     *
+     * @param in the stream to read from
+     * @throws IOException if the stream cannot be read or is not in this
+     * format
+     */
+    static void readStreamHeader(InputStream in) throws IOException {
+        for (byte b : MAGIC) {
+            if (in.read() != b) {
+                throw new IOException("The stream is not Huffman encoded.");
+            }
+        }
+        int version = in.read();
+        if (version != VERSION) {
+            throw new IOException(String.format("Version %d of the format is not supported.", version));
+        }
+    }
+
+    /**
+     * Encodes the given characters as one HUFFMAN block with its own
+     * codebook, or as a STORED or RUN block if either is smaller
+     *
+     * @param characters the array holding the characters to encode
+     * @param beginIndex the index of the first character to encode
+     * @param endIndex the ending index (exclusive) of the characters to encode
+     * @param out the stream the block is written to
+     * @return the frequency of each character in the block
+     * @throws IOException if the stream cannot be written
+     */
+    static int[] writeBlock(char[] characters, int beginIndex, int endIndex, OutputStream out) throws IOException {
+        return writeCharBlock(characters, beginIndex, endIndex, false, out);
+    }
+
+    /**
+     * Encodes the code points of the given characters as one HUFFMAN block
+     * with its own codebook
+     *
+     * @param characters the array holding the characters to encode
+     * @param beginIndex the index of the first character to encode
+     * @param endIndex the ending index (exclusive) of the characters to encode
+     * @param out the stream the block is written to
+     * @return the number of code points encoded
+     * @throws IOException if the stream cannot be written
+     */
+    static int writeCodePointBlock(char[] characters, int beginIndex, int endIndex, OutputStream out) throws IOException {
+        CodecMetrics metrics = CodecMetrics.getInstance();
+        long start = System.nanoTime();
+        CodePointHistogram histogram = new CodePointHistogram();
+        histogram.count(characters, beginIndex, endIndex);
+        FrequencyTable frequencies = histogram.toFrequencyTable();
+        metrics.recordHistogram(start);
+        start = System.nanoTime();
+        HuffmanEncoder encoder = new HuffmanEncoder(frequencies, Codebook.MAX_LENGTH, TreeBuilder.TWO_QUEUE);
+        metrics.recordTreeBuild(start);
+        start = System.nanoTime();
+        ByteArrayOutputStream payload = new ByteArrayOutputStream((endIndex - beginIndex) / 2 + 16);
+        int count;
+        try (BitOutputStream bits = new BitOutputStream(payload)) {
+            count = encoder.encodeCodePoints(characters, beginIndex, endIndex, bits);
+        }
+        metrics.recordEncode(start);
+        CountingOutputStream counted = new CountingOutputStream(out);
+        writeBlock(encoder.getCodebook(), count, payload, counted);
+        metrics.recordBlock(2L * (endIndex - beginIndex), counted.getCount(), true);
+        metrics.recordCodes(frequencies.toArray(), encoder.getCodebook());
+        return count;
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer as one HUFFMAN block
+     * using the codebook of the given encoder, or as a STORED or RUN block if
+     * either is smaller
+     *
+     * @param encoder the encoder whose codes are used
+     * @param frequencies the frequency of each byte value in the buffer
+     * @param bytes the bytes to encode; the buffer is consumed
+     * @param out the stream the block is written to
+     * @throws IOException if the stream cannot be written
+     */
+    static void writeBlock(HuffmanEncoder encoder, int[] frequencies, ByteBuffer bytes, OutputStream out) throws IOException {
+        writeByteBlock(encoder, frequencies, bytes, false, out, new BlockBuffers());
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer as one HUFFMAN block
+     * with its own codebook, or as a STORED or RUN block if either is smaller
+     *
+     * @param bytes the bytes to encode; the buffer is consumed
+     * @param out the stream the block is written to
+     * @return the number of bytes encoded
+     * @throws IOException if the stream cannot be written
+     */
+    static int writeByteBlock(ByteBuffer bytes, OutputStream out) throws IOException {
+        return writeByteBlock(bytes, out, new BlockBuffers());
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer as one HUFFMAN block
+     * with its own codebook, or as a STORED or RUN block if either is
+     * smaller, building the payload in the given buffers
+     *
+     * @param bytes the bytes to encode; the buffer is consumed
+     * @param out the stream the block is written to
+     * @param buffers the buffers reused from block to block
+     * @return the number of bytes encoded
+     * @throws IOException if the stream cannot be written
+     */
+    static int writeByteBlock(ByteBuffer bytes, OutputStream out, BlockBuffers buffers) throws IOException {
+        int count = bytes.remaining();
+        int[] frequencies = countBytes(bytes);
+        long start = System.nanoTime();
+        HuffmanEncoder encoder = new HuffmanEncoder(frequencies, Codebook.MAX_LENGTH, TreeBuilder.TWO_QUEUE);
+        CodecMetrics.getInstance().recordTreeBuild(start);
+        writeByteBlock(encoder, frequencies, bytes, false, out, buffers);
+        return count;
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer as one CONTEXT block
+     * with order-1 tables built from the buffer
+     *
+     * @param bytes the bytes to encode; the buffer is consumed
+     * @param out the stream the block is written to
+     * @return the number of contexts that were given their own table
+     * @throws IOException if the stream cannot be written
+     */
+    static int writeContextBlock(ByteBuffer bytes, OutputStream out) throws IOException {
+        CodecMetrics metrics = CodecMetrics.getInstance();
+        int count = bytes.remaining();
+        long start = System.nanoTime();
+        int[] pairs = new int[65536];
+        Histogram.countPairs(bytes, pairs);
+        metrics.recordHistogram(start);
+        start = System.nanoTime();
+        ContextModel model = ContextModel.build(pairs);
+        metrics.recordTreeBuild(start);
+        start = System.nanoTime();
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(count / 2 + 16);
+        try (BitOutputStream bits = new BitOutputStream(payload)) {
+            model.encode(bytes, bits);
+        }
+        metrics.recordEncode(start);
+        CountingOutputStream counted = new CountingOutputStream(out);
+        counted.write(CONTEXT);
+        VarInt.write(counted, count);
+        model.write(counted);
+        VarInt.write(counted, payload.size());
+        payload.writeTo(counted);
+        metrics.recordBlock(count, counted.getCount(), true);
+        return model.getTableCount();
+    }
+
+    /**
+     * Encodes the given characters as one INTERLEAVED block with its own
+     * codebook, or as a STORED or RUN block if either is smaller
+     *
+     * @param characters the array holding the characters to encode
+     * @param beginIndex the index of the first character to encode
+     * @param endIndex the ending index (exclusive) of the characters to encode
+     * @param out the stream the block is written to
+     * @return the frequency of each character in the block
+     * @throws IOException if the stream cannot be written
+     */
+    static int[] writeInterleavedBlock(char[] characters, int beginIndex, int endIndex, OutputStream out) throws IOException {
+        return writeCharBlock(characters, beginIndex, endIndex, true, out);
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer as one INTERLEAVED block
+     * using the codebook of the given encoder, or as a STORED or RUN block if
+     * either is smaller
+     *
+     * @param encoder the encoder whose codes are used
+     * @param frequencies the frequency of each byte value in the buffer
+     * @param bytes the bytes to encode; the buffer is consumed
+     * @param out the stream the block is written to
+     * @throws IOException if the stream cannot be written
+     */
+    static void writeInterleavedBlock(HuffmanEncoder encoder, int[] frequencies, ByteBuffer bytes, OutputStream out) throws IOException {
+        writeByteBlock(encoder, frequencies, bytes, true, out, new BlockBuffers());
+    }
+
+    /*
+     * Counts a block of chars and writes it in the smallest layout
+     * @return the frequency of each character in the block
+     */
+    private static int[] writeCharBlock(char[] characters, int beginIndex, int endIndex, boolean interleaved, OutputStream out) throws IOException {
+        CodecMetrics metrics = CodecMetrics.getInstance();
+        long start = System.nanoTime();
+        int[] frequencies = new int[ALPHABET_SIZE];
+        Histogram.count(characters, beginIndex, endIndex, frequencies);
+        metrics.recordHistogram(start);
+        start = System.nanoTime();
+        //a table is built for every block, so skip the linked tree
+        HuffmanEncoder encoder = new HuffmanEncoder(frequencies, Codebook.MAX_LENGTH, TreeBuilder.TWO_QUEUE);
+        metrics.recordTreeBuild(start);
+        start = System.nanoTime();
+        CountingOutputStream counted = new CountingOutputStream(out);
+        int count = endIndex - beginIndex;
+        long storedSize = 2L * count;
+        long huffmanSize = huffmanSize(encoder.getCodebook(), frequencies);
+        long runSize = runSize(characters, beginIndex, endIndex, Math.min(storedSize, huffmanSize));
+        boolean coded = false;
+        if (runSize < Math.min(storedSize, huffmanSize)) {
+            counted.write(RUN);
+            VarInt.write(counted, count);
+            int i = beginIndex;
+            while (i < endIndex) {
+                int begin = i;
+                char c = characters[i];
+                while (++i < endIndex && characters[i] == c) {
+                }
+                VarInt.write(counted, c);
+                VarInt.write(counted, i - begin);
+            }
+        } else if (storedSize <= huffmanSize) {
+            ByteBuffer raw = ByteBuffer.allocate(2 * count);
+            raw.asCharBuffer().put(characters, beginIndex, count);
+            counted.write(STORED);
+            VarInt.write(counted, count);
+            counted.write(raw.array());
+        } else if (interleaved) {
+            ByteArrayOutputStream[] payloads = new ByteArrayOutputStream[HuffmanEncoder.STREAMS];
+            BitOutputStream[] streams = openStreams(payloads, count);
+            encoder.encode(characters, beginIndex, endIndex, streams);
+            writeInterleavedBlock(encoder.getCodebook(), count, payloads, streams, counted);
+            coded = true;
+        } else {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(count / 2 + 16);
+            try (BitOutputStream bits = new BitOutputStream(payload)) {
+                encoder.encode(characters, beginIndex, endIndex, bits);
+            }
+            writeBlock(encoder.getCodebook(), count, payload, counted);
+            coded = true;
+        }
+        metrics.recordEncode(start);
+        metrics.recordBlock(storedSize, counted.getCount(), coded);
+        if (coded) {
+            metrics.recordCodes(frequencies, encoder.getCodebook());
+        }
+        return frequencies;
+    }
+
+    /*
+     * Counts the remaining bytes of the given buffer
+     * @return the frequency of each byte value
+     */
+    private static int[] countBytes(ByteBuffer bytes) {
+        long start = System.nanoTime();
+        int[] frequencies = new int[256];
+        Histogram.count(bytes, frequencies);
+        CodecMetrics.getInstance().recordHistogram(start);
+        return frequencies;
+    }
+
+    /*
+     * Writes the remaining bytes of the given buffer in the smallest layout, coding them with the given encoder if that layout is HUFFMAN or INTERLEAVED
+     * @param frequencies the frequency of each byte in the buffer
+     */
+    private static void writeByteBlock(HuffmanEncoder encoder, int[] frequencies, ByteBuffer bytes, boolean interleaved, OutputStream out, BlockBuffers buffers) throws IOException {
+        CodecMetrics metrics = CodecMetrics.getInstance();
+        long start = System.nanoTime();
+        CountingOutputStream counted = new CountingOutputStream(out);
+        int count = bytes.remaining();
+        boolean coded = !writeUncoded(encoder.getCodebook(), frequencies, bytes, counted);
+        if (coded && interleaved) {
+            ByteArrayOutputStream[] payloads = new ByteArrayOutputStream[HuffmanEncoder.STREAMS];
+            BitOutputStream[] streams = openStreams(payloads, count);
+            encoder.encode(bytes, streams);
+            writeInterleavedBlock(encoder.getCodebook(), count, payloads, streams, counted);
+        } else if (coded) {
+            ByteArrayOutputStream payload = buffers.encoded(count);
+            try (BitOutputStream bits = new BitOutputStream(payload)) {
+                encoder.encode(bytes, bits);
+            }
+            writeBlock(encoder.getCodebook(), count, payload, counted);
+        }
+        metrics.recordEncode(start);
+        metrics.recordBlock(count, counted.getCount(), coded);
+        if (coded) {
+            metrics.recordCodes(frequencies, encoder.getCodebook());
+        }
+    }
+
+    /*
+     * Writes the remaining bytes of the given buffer as a STORED or RUN block if either is smaller than a HUFFMAN block with the given codebook
+     * @param frequencies the frequency of each byte in the buffer
+     * @return true if the block was written and the buffer consumed
+     */
+    private static boolean writeUncoded(Codebook codebook, int[] frequencies, ByteBuffer bytes, OutputStream out) throws IOException {
+        int count = bytes.remaining();
+        long storedSize = count;
+        long huffmanSize = huffmanSize(codebook, frequencies);
+        long runSize = runSize(bytes, Math.min(storedSize, huffmanSize));
+        int end = bytes.limit();
+        if (runSize < Math.min(storedSize, huffmanSize)) {
+            out.write(RUN);
+            VarInt.write(out, count);
+            int i = bytes.position();
+            while (i < end) {
+                int start = i;
+                byte b = bytes.get(i);
+                while (++i < end && bytes.get(i) == b) {
+                }
+                VarInt.write(out, b & 0xFF);
+                VarInt.write(out, i - start);
+            }
+        } else if (storedSize <= huffmanSize) {
+            out.write(STORED);
+            VarInt.write(out, count);
+            byte[] buffer = new byte[Math.min(count, 1 << 16)];
+            while (bytes.hasRemaining()) {
+                int length = Math.min(buffer.length, bytes.remaining());
+                bytes.get(buffer, 0, length);
+                out.write(buffer, 0, length);
+            }
+        } else {
+            return false;
+        }
+        //through Buffer, since the ByteBuffer override of position(int) does not exist before Java 9
+        ((Buffer) bytes).position(end);
+        return true;
+    }
+
+    /*
+     * Estimates the size of a HUFFMAN block with the given codebook from the frequencies of its symbols
+     * @return the size in bytes, or Long.MAX_VALUE if a counted symbol has no code
+     */
+    private static long huffmanSize(Codebook codebook, int[] frequencies) throws IOException {
+        long bits = 0;
+        for (int symbol = 0; symbol < frequencies.length; ++symbol) {
+            if (frequencies[symbol] == 0) {
+                continue;
+            }
+            int length = codebook.getLength(symbol);
+            if (length == 0) {
+                return Long.MAX_VALUE;
+            }
+            bits += (long) frequencies[symbol] * length;
+        }
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        codebook.write(table);
+        long payload = (bits + 7) / 8;
+        return table.size() + VarInt.size(payload) + payload;
+    }
+
+    /*
+     * Measures the runs of a RUN block of the given chars
+     * @return the size of the runs in bytes, or a value of at least limit once they grow that large
+     */
+    private static long runSize(char[] characters, int beginIndex, int endIndex, long limit) {
+        long size = 0;
+        int i = beginIndex;
+        while (i < endIndex && size < limit) {
+            int start = i;
+            char c = characters[i];
+            while (++i < endIndex && characters[i] == c) {
+            }
+            size += VarInt.size(c) + VarInt.size(i - start);
+        }
+        return size;
+    }
+
+    /*
+     * Measures the runs of a RUN block of the remaining bytes of the given buffer
+     * @return the size of the runs in bytes, or a value of at least limit once they grow that large
+     */
+    private static long runSize(ByteBuffer bytes, long limit) {
+        long size = 0;
+        int i = bytes.position();
+        int end = bytes.limit();
+        while (i < end && size < limit) {
+            int start = i;
+            byte b = bytes.get(i);
+            while (++i < end && bytes.get(i) == b) {
+            }
+            size += VarInt.size(b & 0xFF) + VarInt.size(i - start);
+        }
+        return size;
+    }
+
+    /*
+     * Creates the substreams of an INTERLEAVED block
+     */
+    private static BitOutputStream[] openStreams(ByteArrayOutputStream[] payloads, int count) {
+        BitOutputStream[] streams = new BitOutputStream[payloads.length];
+        for (int i = 0; i < payloads.length; ++i) {
+            payloads[i] = new ByteArrayOutputStream(HuffmanEncoder.segmentSize(count) / 2 + 16);
+            streams[i] = new BitOutputStream(payloads[i]);
+        }
+        return streams;
+    }
+
+    /*
+     * Closes the substreams and writes an INTERLEAVED block around them
+     */
+    private static void writeInterleavedBlock(Codebook codebook, int count, ByteArrayOutputStream[] payloads, BitOutputStream[] streams, OutputStream out) throws IOException {
+        for (BitOutputStream stream : streams) {
+            stream.close();
+        }
+        out.write(INTERLEAVED);
+        VarInt.write(out, count);
+        codebook.write(out);
+        for (ByteArrayOutputStream payload : payloads) {
+            VarInt.write(out, payload.size());
+        }
+        for (ByteArrayOutputStream payload : payloads) {
+            payload.writeTo(out);
+        }
+    }
+
+    /*
+     * Writes a HUFFMAN block around an encoded payload
+     */
+    private static void writeBlock(Codebook codebook, int count, ByteArrayOutputStream payload, OutputStream out) throws IOException {
+        out.write(HUFFMAN);
+        VarInt.write(out, count);
+        codebook.write(out);
+        VarInt.write(out, payload.size());
+        payload.writeTo(out);
+    }
+
+    /**
+     * Writes an INDEX block describing the given run of encoded blocks
+     *
+     * @param out the stream to write to
+     * @param blocks the encoded blocks, each including its type
+     * @param characterCounts the number of characters in each block
+     * @param count the number of blocks in the run; at most MAX_INDEX_SIZE
+     * @throws IOException if the stream cannot be written
+     */
+    static void writeIndex(OutputStream out, byte[][] blocks, int[] characterCounts, int count) throws IOException {
+        out.write(INDEX);
+        VarInt.write(out, count);
+        for (int i = 0; i < count; ++i) {
+            VarInt.write(out, blocks[i].length);
+            VarInt.write(out, characterCounts[i]);
+        }
+    }
+
+    /**
+     * Reads the body of an INDEX block whose type has already been read
+     *
+     * @param in the stream to read from
+     * @return the encoded length of each block at index 0 and the number of
+     * characters in each block at index 1
+     * @throws IOException if the stream cannot be read
+     */
+    static int[][] readIndex(InputStream in) throws IOException {
+        int count = VarInt.readInt(in);
+        if (count > MAX_INDEX_SIZE) {
+            throw new IOException(String.format("%d is too many blocks for one index.", count));
+        }
+        int[][] index = new int[2][count];
+        for (int i = 0; i < count; ++i) {
+            index[0][i] = VarInt.readInt(in);
+            index[1][i] = VarInt.readInt(in);
+        }
+        return index;
+    }
+
+    /**
+     * Writes a DIRECTORY block, the END marker and the trailer that ends a
+     * seekable stream
+     *
+     * @param out the stream to write to
+     * @param offset the offset of the DIRECTORY block from the start of the
+     * stream
+     * @param decodedSizes the decoded size of each block in bytes
+     * @param encodedSizes the encoded size of each block in bytes
+     * @param count the number of blocks
+     * @throws IOException if the stream cannot be written
+     */
+    static void writeDirectory(OutputStream out, long offset, long[] decodedSizes, long[] encodedSizes, int count) throws IOException {
+        out.write(DIRECTORY);
+        VarInt.write(out, count);
+        for (int i = 0; i < count; ++i) {
+            VarInt.write(out, decodedSizes[i]);
+            VarInt.write(out, encodedSizes[i]);
+        }
+        out.write(END);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (offset >>> shift));
+        }
+    }
+
+    /**
+     * Reads the body of a DIRECTORY block whose type has already been read
+     *
+     * @param in the stream to read from
+     * @return the decoded size of each block at index 0 and the encoded size
+     * of each block at index 1
+     * @throws IOException if the stream cannot be read or the directory is
+     * invalid
+     */
+    static long[][] readDirectory(InputStream in) throws IOException {
+        int count = VarInt.readInt(in);
+        //the arrays grow as entries arrive, so a corrupt count cannot allocate them up front
+        long[] decodedSizes = new long[Math.min(count, 1024)];
+        long[] encodedSizes = new long[decodedSizes.length];
+        for (int i = 0; i < count; ++i) {
+            if (i == decodedSizes.length) {
+                decodedSizes = Arrays.copyOf(decodedSizes, Math.min(count, 2 * i));
+                encodedSizes = Arrays.copyOf(encodedSizes, decodedSizes.length);
+            }
+            decodedSizes[i] = VarInt.read(in);
+            encodedSizes[i] = VarInt.read(in);
+            if (decodedSizes[i] < 0 || decodedSizes[i] > Integer.MAX_VALUE || encodedSizes[i] < 1) {
+                throw new IOException("The stream does not contain a valid block directory.");
+            }
+        }
+        return new long[][]{decodedSizes, encodedSizes};
+    }
+
+    /**
+     * Reads the type of the next data block, skipping any INDEX and DIRECTORY
+     * blocks
+     *
+     * @param in the stream to read from
+     * @return the type of the next block that is not an INDEX or DIRECTORY
+     * @throws IOException if the stream cannot be read or has ended
+     */
+    static int readDataType(InputStream in) throws IOException {
+        int type = readType(in);
+        while (type == INDEX || type == DIRECTORY) {
+            if (type == INDEX) {
+                readIndex(in);
+            } else {
+                readDirectory(in);
+            }
+            type = readType(in);
+        }
+        return type;
+    }
+
+    /**
+     * Reads the type of the next block
+     *
+     * @param in the stream to read from
+     * @return the type of the next block
+     * @throws IOException if the stream cannot be read or has ended
+     */
+    static int readType(InputStream in) throws IOException {
+        int type = in.read();
+        if (type < 0) {
+            throw new EOFException("The stream ended before the END marker.");
+        }
+        return type;
+    }
+
+    /**
+     * Reads the next block, skipping any INDEX and DIRECTORY blocks
+     *
+     * @param in the stream to read from
+     * @return the decoded characters, or null if the END marker was read
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * block
+     */
+    static char[] readBlock(InputStream in) throws IOException {
+        int type = readDataType(in);
+        return readBlock(type, in);
+    }
+
+    /**
+     * Reads the body of a block whose type has already been read
+     *
+     * @param type the type of the block
+     * @param in the stream to read from
+     * @return the decoded characters, or null if the type is the END marker
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * block
+     */
+    static char[] readBlock(int type, InputStream in) throws IOException {
+        long start = System.nanoTime();
+        char[] characters = decodeBlock(type, in);
+        if (characters != null) {
+            CodecMetrics.getInstance().recordDecode(2L * characters.length, start);
+        }
+        return characters;
+    }
+
+    /*
+     * Decodes the body of a block of chars whose type has already been read
+     */
+    private static char[] decodeBlock(int type, InputStream in) throws IOException {
+        if (type == END) {
+            return null;
+        }
+        if (type == STORED) {
+            int count = VarInt.readInt(in);
+            if (count > MAX_ARRAY_SIZE / 2) {
+                throw new IOException(String.format("%d is too many chars for one block.", count));
+            }
+            byte[] raw = readBytes(in, 2 * count);
+            char[] characters = new char[count];
+            ByteBuffer.wrap(raw).asCharBuffer().get(characters);
+            return characters;
+        }
+        if (type == RUN) {
+            int count = VarInt.readInt(in);
+            if (count > MAX_ARRAY_SIZE / 2) {
+                throw new IOException(String.format("%d is too many chars for one block.", count));
+            }
+            //grow with the runs actually read, so a bad count cannot allocate the block
+            char[] characters = new char[0];
+            for (int i = 0; i < count;) {
+                int symbol = VarInt.readInt(in);
+                if (symbol >= ALPHABET_SIZE) {
+                    throw new IOException("The block holds symbols that are not chars.");
+                }
+                int length = readRunLength(in, count - i);
+                if (i + length > characters.length) {
+                    characters = Arrays.copyOf(characters, grownLength(characters.length, i + length, count));
+                }
+                Arrays.fill(characters, i, i + length, (char) symbol);
+                i += length;
+            }
+            return characters;
+        }
+        Body body = readBody(type, in, new BlockBuffers());
+        if (body.alphabetSize > ALPHABET_SIZE) {
+            throw new IOException("The block holds symbols that are not chars.");
+        }
+        char[] characters = new char[body.count];
+        if (body.streams != null) {
+            body.decoder.decode(body.streams, characters, body.count);
+        } else {
+            body.decoder.decode(body.bits, characters, body.count);
+        }
+        return characters;
+    }
+
+    /**
+     * Reads the next block of a code point stream, skipping any INDEX and
+     * DIRECTORY blocks
+     *
+     * @param in the stream to read from
+     * @return the decoded code points, or null if the END marker was read
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * block
+     */
+    static int[] readCodePointBlock(InputStream in) throws IOException {
+        int type = readDataType(in);
+        long start = System.nanoTime();
+        int[] codePoints = decodeCodePointBlock(type, in);
+        if (codePoints != null) {
+            long size = 0;
+            for (int codePoint : codePoints) {
+                size += 2 * Character.charCount(codePoint);
+            }
+            CodecMetrics.getInstance().recordDecode(size, start);
+        }
+        return codePoints;
+    }
+
+    /*
+     * Decodes the body of a block of code points whose type has already been read
+     */
+    private static int[] decodeCodePointBlock(int type, InputStream in) throws IOException {
+        if (type == END) {
+            return null;
+        }
+        if (type == STORED || type == RUN) {
+            //these blocks are only written for chars, which are valid code points
+            char[] characters = decodeBlock(type, in);
+            int[] codePoints = new int[characters.length];
+            for (int i = 0; i < characters.length; ++i) {
+                codePoints[i] = characters[i];
+            }
+            return codePoints;
+        }
+        Body body = readBody(type, in, new BlockBuffers());
+        int[] codePoints = new int[body.count];
+        if (body.streams != null) {
+            //code point blocks are rare enough to decode one substream after another
+            int segment = HuffmanEncoder.segmentSize(body.count);
+            BitInputStream bits = null;
+            for (int i = 0; i < codePoints.length; ++i) {
+                if (i % segment == 0) {
+                    bits = new BitInputStream(new ByteArrayInputStream(body.streams[i / segment]));
+                }
+                codePoints[i] = body.decoder.decodeSymbol(bits);
+            }
+        } else {
+            for (int i = 0; i < codePoints.length; ++i) {
+                codePoints[i] = body.decoder.decodeSymbol(body.bits);
+            }
+        }
+        return codePoints;
+    }
+
+    /**
+     * Reads the next block of a byte stream, skipping any INDEX and
+     * DIRECTORY blocks
+     *
+     * @param in the stream to read from
+     * @return the decoded bytes, or null if the END marker was read
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * block
+     */
+    static byte[] readByteBlock(InputStream in) throws IOException {
+        int type = readDataType(in);
+        return readByteBlock(type, in);
+    }
+
+    /**
+     * Reads the body of a byte stream block whose type has already been read
+     *
+     * @param type the type of the block
+     * @param in the stream to read from
+     * @return the decoded bytes, or null if the type is the END marker
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * block
+     */
+    static byte[] readByteBlock(int type, InputStream in) throws IOException {
+        BlockBuffers buffers = new BlockBuffers();
+        int count = readByteBlock(type, in, buffers);
+        if (count < 0) {
+            return null;
+        }
+        //a fresh decode array is only ever grown to the exact size of the block
+        return buffers.block.length == count ? buffers.block : Arrays.copyOf(buffers.block, count);
+    }
+
+    /**
+     * Reads the next block of a byte stream into the block array of the given
+     * buffers, skipping any INDEX and DIRECTORY blocks. The payload array and
+     * decoder of the buffers are reused.
+     *
+     * @param in the stream to read from
+     * @param buffers the buffers reused from block to block
+     * @return the number of bytes decoded, or -1 if the END marker was read
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * block
+     */
+    static int readByteBlock(InputStream in, BlockBuffers buffers) throws IOException {
+        int type = readDataType(in);
+        return readByteBlock(type, in, buffers);
+    }
+
+    /*
+     * Decodes the body of a byte stream block whose type has already been read into the block array of the given buffers
+     * @return the number of bytes decoded, or -1 if the type is the END marker
+     */
+    private static int readByteBlock(int type, InputStream in, BlockBuffers buffers) throws IOException {
+        long start = System.nanoTime();
+        int count = decodeByteBlock(type, in, buffers);
+        if (count >= 0) {
+            CodecMetrics.getInstance().recordDecode(count, start);
+        }
+        return count;
+    }
+
+    /*
+     * Decodes the body of a block of bytes whose type has already been read
+     * @return the number of bytes decoded, or -1 if the type is the END marker
+     */
+    private static int decodeByteBlock(int type, InputStream in, BlockBuffers buffers) throws IOException {
+        if (type == END) {
+            return -1;
+        }
+        if (type == CONTEXT) {
+            int count = VarInt.readInt(in);
+            ContextModel model = ContextModel.read(in);
+            BitInputStream bits = readPayload(in, count, buffers);
+            model.decode(bits, buffers.block(count), count);
+            return count;
+        }
+        if (type == STORED) {
+            int count = VarInt.readInt(in);
+            buffers.block = readBytes(in, count, buffers.block);
+            return count;
+        }
+        if (type == RUN) {
+            int count = VarInt.readInt(in);
+            if (count > MAX_ARRAY_SIZE) {
+                throw new IOException(String.format("%d is too many bytes for one block.", count));
+            }
+            //grow with the runs actually read, so a bad count cannot allocate the block
+            byte[] bytes = buffers.block;
+            for (int i = 0; i < count;) {
+                int symbol = VarInt.readInt(in);
+                if (symbol > 0xFF) {
+                    throw new IOException("The block holds symbols that are not bytes.");
+                }
+                int length = readRunLength(in, count - i);
+                if (i + length > bytes.length) {
+                    bytes = Arrays.copyOf(bytes, grownLength(bytes.length, i + length, count));
+                    buffers.block = bytes;
+                }
+                Arrays.fill(bytes, i, i + length, (byte) symbol);
+                i += length;
+            }
+            return count;
+        }
+        Body body = readBody(type, in, buffers);
+        if (body.alphabetSize > 256) {
+            throw new IOException("The block holds symbols that are not bytes.");
+        }
+        byte[] bytes = buffers.block(body.count);
+        if (body.streams != null) {
+            body.decoder.decode(body.streams, bytes, body.count);
+        } else {
+            body.decoder.decode(body.bits, bytes, body.count);
+        }
+        return body.count;
+    }
+
+    /*
+     * Reads the count, codebook and payload of a HUFFMAN block, reusing the payload array and decoder of the given buffers
+     */
+    private static Body readBody(int type, InputStream in, BlockBuffers buffers) throws IOException {
+        if (type != HUFFMAN && type != INTERLEAVED) {
+            throw new IOException(String.format("%d is not a valid block type.", type));
+        }
+        int count = VarInt.readInt(in);
+        Codebook codebook = Codebook.read(in);
+        HuffmanDecoder decoder = new HuffmanDecoder(codebook, buffers.decoder);
+        buffers.decoder = decoder;
+        if (type == HUFFMAN) {
+            return new Body(count, codebook.getAlphabetSize(), decoder, readPayload(in, count, buffers), null);
+        }
+        int[] sizes = new int[HuffmanEncoder.STREAMS];
+        for (int i = 0; i < sizes.length; ++i) {
+            sizes[i] = VarInt.readInt(in);
+        }
+        int segment = HuffmanEncoder.segmentSize(count);
+        byte[][] streams = new byte[sizes.length][];
+        for (int i = 0; i < sizes.length; ++i) {
+            byte[] payload = readBytes(in, sizes[i]);
+            //every code is at least one bit long
+            long symbols = Math.max(0, Math.min(segment, count - (long) segment * i));
+            if (symbols > payload.length * 8L) {
+                throw new IOException("The block holds more symbols than its payload can encode.");
+            }
+            streams[i] = payload;
+        }
+        return new Body(count, codebook.getAlphabetSize(), decoder, null, streams);
+    }
+
+    /*
+     * Reads the length of a run, which must be at least 1 and no more than the given number of symbols left in the block
+     */
+    private static int readRunLength(InputStream in, int remaining) throws IOException {
+        int length = VarInt.readInt(in);
+        if (length < 1 || length > remaining) {
+            throw new IOException(String.format("%d is an invalid run length. The block has %d symbols left.", length, remaining));
+        }
+        return length;
+    }
+
+    /*
+     * Gets the length to grow a run block to so it holds the given number of symbols, doubling the current length but never passing the block's count
+     */
+    private static int grownLength(int current, int needed, int count) {
+        return (int) Math.min(count, Math.max(needed, 2L * current));
+    }
+
+    /*
+     * Reads the payload of a block that encodes the given number of symbols into the payload array of the given buffers
+     */
+    private static BitInputStream readPayload(InputStream in, int count, BlockBuffers buffers) throws IOException {
+        int length = VarInt.readInt(in);
+        buffers.payload = readBytes(in, length, buffers.payload);
+        //every code is at least one bit long
+        if (count > length * 8L) {
+            throw new IOException("The block holds more symbols than its payload can encode.");
+        }
+        return new BitInputStream(new ByteArrayInputStream(buffers.payload, 0, length));
+    }
+
+    /**
+     * Reads the given number of bytes, growing the array as they arrive so
+     * that a corrupt length cannot allocate it up front
+     *
+     * @param in the stream to read from
+     * @param length the number of bytes to read
+     * @return an array holding exactly the bytes read
+     * @throws IOException if the stream cannot be read or ends first
+     */
+    static byte[] readBytes(InputStream in, int length) throws IOException {
+        return readBytes(in, length, new byte[0]);
+    }
+
+    /*
+     * Reads the given number of bytes into the given array, or into a new one grown as they arrive if it is too small
+     * @return the array holding the bytes, which may be longer than length
+     */
+    private static byte[] readBytes(InputStream in, int length, byte[] buffer) throws IOException {
+        if (length > MAX_ARRAY_SIZE) {
+            throw new IOException(String.format("%d bytes are too many for one block.", length));
+        }
+        byte[] bytes = buffer.length >= length ? buffer : new byte[Math.min(length, Math.max(buffer.length, 1 << 16))];
+        int filled = 0;
+        while (filled < length) {
+            if (filled == bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * filled));
+            }
+            int bytesRead = in.read(bytes, filled, Math.min(bytes.length, length) - filled);
+            if (bytesRead < 0) {
+                throw new EOFException("The stream ended before the END marker.");
+            }
+            filled += bytesRead;
+        }
+        return bytes;
+    }
+
+    /*
+     * The parts of a HUFFMAN or INTERLEAVED block needed to decode it
+     */
+    private static class Body {
+
+        private final int count;
+        private final int alphabetSize;
+        private final HuffmanDecoder decoder;
+        private final BitInputStream bits;
+        private final byte[][] streams;
+
+        private Body(int count, int alphabetSize, HuffmanDecoder decoder, BitInputStream bits, byte[][] streams) {
+            this.count = count;
+            this.alphabetSize = alphabetSize;
+            this.decoder = decoder;
+            this.bits = bits;
+            this.streams = streams;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.util.Arrays;
+
+/**
+ * Counts Unicode code points in a primitive open-addressing hash table.<p>
+ * A surrogate pair is counted as the single supplementary code point it
+ * encodes, so CJK extensions and emoji take one symbol each instead of two
+ * surrogate symbols. Unpaired surrogates are counted as themselves. The table
+ * stores keys and counts in two int arrays probed linearly and doubles when it
+ * is half full, so counting neither boxes nor allocates per symbol, and its
+ * size follows the number of distinct code points rather than their range.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class CodePointHistogram {
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] counts;
+    private int mask;
+    private int shift;
+    private int size;
+    private long total;
+
+    /**
+     * Creates a new, empty CodePointHistogram
+     */
+    public CodePointHistogram() {
+        allocate(64);
+    }
+
+    /**
+     * Counts the code points of the chars of the given char[] from the given
+     * beginIndex up to the given endIndex. A surrogate pair that straddles
+     * endIndex is counted as two unpaired surrogates.
+     *
+     * @param characters the array of chars to count
+     * @param beginIndex the index of the first char that will be counted
+     * @param endIndex the ending index (exclusive) of chars that will be
+     * counted
+     */
+    public void count(char[] characters, int beginIndex, int endIndex) {
+        int i = beginIndex;
+        while (i < endIndex) {
+            int codePoint = Character.codePointAt(characters, i, endIndex);
+            add(codePoint, 1);
+            i += Character.charCount(codePoint);
+        }
+    }
+
+    /**
+     * Adds the given count to the frequency of the given code point
+     *
+     * @param codePoint the code point; between 0 and Character.MAX_CODE_POINT
+     * @param count the number of occurrences; at least 0
+     */
+    public void add(int codePoint, int count) {
+        if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+            throw new IllegalArgumentException(String.format("%d is an invalid code point. The maximum is %d.", codePoint, Character.MAX_CODE_POINT));
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("The minimum allowable count is 0");
+        }
+        int slot = slot(codePoint);
+        if (keys[slot] == EMPTY) {
+            if (count == 0) {
+                return;
+            }
+            keys[slot] = codePoint;
+            ++size;
+        } else if (counts[slot] > Integer.MAX_VALUE - count) {
+            throw new IllegalStateException(String.format("The frequency of the code point %d exceeds %d.", codePoint, Integer.MAX_VALUE));
+        }
+        counts[slot] += count;
+        total += count;
+        if (size > keys.length >>> 1) {
+            allocate(keys.length << 1);
+        }
+    }
+
+    /**
+     * Gets the frequency of the given code point
+     *
+     * @param codePoint the code point
+     * @return the frequency of the code point
+     */
+    public int get(int codePoint) {
+        if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+            return 0;
+        }
+        int slot = slot(codePoint);
+        return keys[slot] == EMPTY ? 0 : counts[slot];
+    }
+
+    /**
+     * Gets the number of distinct code points counted
+     *
+     * @return the number of distinct code points counted
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of code points counted
+     *
+     * @return the sum of all frequencies
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Copies the counts into a FrequencyTable for building codes
+     *
+     * @return a frequency table holding the same counts
+     */
+    public FrequencyTable toFrequencyTable() {
+        FrequencyTable table = new FrequencyTable();
+        for (int i = 0; i < keys.length; ++i) {
+            if (keys[i] != EMPTY) {
+                table.add(keys[i], counts[i]);
+            }
+        }
+        return table;
+    }
+
+    /*
+     * Finds the slot holding the given code point, or the empty slot where it belongs
+     */
+    private int slot(int codePoint) {
+        //Fibonacci hashing spreads the clustered code points of a script over the table
+        int slot = (codePoint * 0x9E3779B9) >>> shift;
+        while (keys[slot] != EMPTY && keys[slot] != codePoint) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /*
+     * Replaces the table with an empty one of the given capacity and reinserts the old entries
+     */
+    private void allocate(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(mask);
+        Arrays.fill(keys, EMPTY);
+        if (oldKeys == null) {
+            return;
+        }
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * An immutable table of canonical Huffman codes.<p>
+ * Only the code length of each symbol is stored. The codes themselves are
+ * derived from the lengths: shorter codes come first, and codes of equal
+ * length are assigned consecutively in symbol order. This lets a reader
+ * rebuild the codes from a header that stores one length per used symbol.<p>
+ * The codes and lengths are held in primitive arrays, so an encoder can look
+ * up a code without boxing or allocation. Like FrequencyTable, the arrays are
+ * split into pages of PAGE_SIZE consecutive symbols, and only the pages that
+ * hold a used symbol are allocated. A codebook for a few hundred chars spread
+ * over the 16-bit range therefore stays a few pages long instead of growing
+ * with the largest symbol. Codes are held as longs because unlimited Huffman
+ * codes may be longer than 32 bits.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class Codebook {
+
+    /**
+     * The maximum supported code length in bits
+     */
+    public static final int MAX_LENGTH = BitOutputStream.MAX_BITS;
+
+    /**
+     * The number of bits of a symbol that select its index within a page
+     */
+    static final int PAGE_BITS = 8;
+
+    /**
+     * The number of symbols in each page of the lookup tables
+     */
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    //shared by every page without a used symbol; never written
+    private static final byte[] EMPTY_LENGTHS = new byte[PAGE_SIZE];
+    private static final long[] EMPTY_CODES = new long[PAGE_SIZE];
+
+    final byte[][] lengths;
+    final long[][] codes;
+    private final int[] symbols;
+    private final int maxLength;
+
+    /**
+     * Creates a new Codebook from the given code lengths. The length of each
+     * symbol is stored at the index of the symbol; a length of 0 marks an
+     * unused symbol. The lengths must describe a prefix code.
+     *
+     * @param lengths the code length of each symbol
+     */
+    public Codebook(int[] lengths) {
+        this(usedSymbols(lengths), usedLengths(lengths));
+    }
+
+    /**
+     * Creates a new Codebook from the given used symbols and their code
+     * lengths. The lengths must describe a prefix code.
+     *
+     * @param symbols the used symbols in ascending order; between 0 and
+     * Character.MAX_CODE_POINT
+     * @param lengths the code length of each symbol, in the same order;
+     * between 1 and MAX_LENGTH
+     */
+    public Codebook(int[] symbols, int[] lengths) {
+        if (symbols == null || lengths == null) {
+            throw new IllegalArgumentException("Cannot create a codebook from a null length table");
+        }
+        if (symbols.length != lengths.length) {
+            throw new IllegalArgumentException(String.format("%d symbols were given with %d code lengths.", symbols.length, lengths.length));
+        }
+        int max = 0;
+        long kraft = 0;
+        for (int i = 0; i < symbols.length; ++i) {
+            if (symbols[i] < 0 || symbols[i] > Character.MAX_CODE_POINT || (i > 0 && symbols[i] <= symbols[i - 1])) {
+                throw new IllegalArgumentException(String.format("%d is an invalid symbol. The symbols must ascend from 0 to %d.", symbols[i], Character.MAX_CODE_POINT));
+            }
+            int length = lengths[i];
+            if (length < 1 || length > MAX_LENGTH) {
+                throw new IllegalArgumentException(String.format("%d is an invalid code length. The maximum is %d.", length, MAX_LENGTH));
+            }
+            max = Math.max(max, length);
+            kraft += 1L << (MAX_LENGTH - length);
+            if (kraft > 1L << MAX_LENGTH) {
+                throw new IllegalArgumentException("The code lengths do not describe a prefix code.");
+            }
+        }
+        this.symbols = symbols.clone();
+        this.maxLength = max;
+        //page 0 always exists, so byte alphabets can use it as a flat table
+        int pageCount = symbols.length == 0 ? 1 : (symbols[symbols.length - 1] >>> PAGE_BITS) + 1;
+        this.lengths = new byte[pageCount][];
+        this.codes = new long[pageCount][];
+        assignCodes(lengths);
+    }
+
+    /**
+     * Gets the number of symbols in the alphabet, used or not
+     *
+     * @return the number of symbols in the alphabet
+     */
+    public int getAlphabetSize() {
+        return symbols.length == 0 ? 0 : symbols[symbols.length - 1] + 1;
+    }
+
+    /**
+     * Gets the number of symbols that have a code
+     *
+     * @return the number of symbols that have a code
+     */
+    public int getSymbolCount() {
+        return symbols.length;
+    }
+
+    /**
+     * Gets the symbols that have a code
+     *
+     * @return the used symbols in ascending order
+     */
+    public int[] getSymbols() {
+        return symbols.clone();
+    }
+
+    /**
+     * Gets the length of the longest code
+     *
+     * @return the length of the longest code
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Gets the code length of the given symbol
+     *
+     * @param symbol the symbol
+     * @return the code length of the symbol, or 0 if it has no code
+     */
+    public int getLength(int symbol) {
+        return symbol >= 0 && symbol >>> PAGE_BITS < lengths.length ? lengths[symbol >>> PAGE_BITS][symbol & (PAGE_SIZE - 1)] : 0;
+    }
+
+    /**
+     * Gets the code of the given symbol
+     *
+     * @param symbol the symbol
+     * @return the code of the symbol, right-aligned in getLength(symbol) bits
+     */
+    public long getCode(int symbol) {
+        return symbol >= 0 && symbol >>> PAGE_BITS < codes.length ? codes[symbol >>> PAGE_BITS][symbol & (PAGE_SIZE - 1)] : 0;
+    }
+
+    /**
+     * Gets the code of the given symbol as a string of '0' and '1' characters
+     *
+     * @param symbol the symbol
+     * @return the code of the symbol, or null if it has no code
+     */
+    public String getCodeString(int symbol) {
+        int length = getLength(symbol);
+        if (length == 0) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(length);
+        long code = getCode(symbol);
+        for (int i = length - 1; i >= 0; --i) {
+            builder.append((code >>> i) & 1);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the code lengths to the given stream. The number of used symbols
+     * is written first, followed by the gap to each used symbol from the
+     * previous one and its code length.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(OutputStream out) throws IOException {
+        VarInt.write(out, symbols.length);
+        int previous = -1;
+        for (int symbol : symbols) {
+            VarInt.write(out, symbol - previous - 1);
+            out.write(getLength(symbol));
+            previous = symbol;
+        }
+    }
+
+    /**
+     * Reads a Codebook written by write(OutputStream)
+     *
+     * @param in the stream to read from
+     * @return the Codebook read
+     * @throws IOException if the stream cannot be read or does not contain a
+     * valid codebook
+     */
+    public static Codebook read(InputStream in) throws IOException {
+        int count = VarInt.readInt(in);
+        if (count > Character.MAX_CODE_POINT + 1) {
+            throw new IOException("The stream does not contain a valid codebook.");
+        }
+        int[] symbols = new int[count];
+        int[] lengths = new int[count];
+        int symbol = -1;
+        for (int i = 0; i < count; ++i) {
+            symbol += VarInt.readInt(in) + 1;
+            int length = in.read();
+            if (symbol < 0 || symbol > Character.MAX_CODE_POINT || length < 1 || length > MAX_LENGTH) {
+                throw new IOException("The stream does not contain a valid codebook.");
+            }
+            symbols[i] = symbol;
+            lengths[i] = length;
+        }
+        try {
+            return new Codebook(symbols, lengths);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("The stream does not contain a valid codebook.", ex);
+        }
+    }
+
+    /*
+     * Assigns the canonical codes from the code lengths and fills in the pages
+     * @param lengths the code length of each used symbol
+     */
+    private void assignCodes(int[] lengths) {
+        int[] lengthCounts = new int[maxLength + 1];
+        for (int length : lengths) {
+            lengthCounts[length]++;
+        }
+        long[] nextCode = new long[maxLength + 1];
+        long code = 0;
+        for (int length = 1; length <= maxLength; ++length) {
+            code = (code + lengthCounts[length - 1]) << 1;
+            nextCode[length] = code;
+        }
+        for (int i = 0; i < symbols.length; ++i) {
+            int page = symbols[i] >>> PAGE_BITS;
+            if (this.lengths[page] == null) {
+                this.lengths[page] = new byte[PAGE_SIZE];
+                this.codes[page] = new long[PAGE_SIZE];
+            }
+            this.lengths[page][symbols[i] & (PAGE_SIZE - 1)] = (byte) lengths[i];
+            this.codes[page][symbols[i] & (PAGE_SIZE - 1)] = nextCode[lengths[i]]++;
+        }
+        for (int page = 0; page < this.lengths.length; ++page) {
+            if (this.lengths[page] == null) {
+                this.lengths[page] = EMPTY_LENGTHS;
+                this.codes[page] = EMPTY_CODES;
+            }
+        }
+    }
+
+    /*
+     * Lists the symbols of a dense length table that have a code
+     */
+    private static int[] usedSymbols(int[] lengths) {
+        if (lengths == null) {
+            throw new IllegalArgumentException("Cannot create a codebook from a null length table");
+        }
+        int used = 0;
+        for (int length : lengths) {
+            if (length != 0) {
+                ++used;
+            }
+        }
+        int[] symbols = new int[used];
+        int n = 0;
+        for (int i = 0; i < lengths.length; ++i) {
+            if (lengths[i] != 0) {
+                symbols[n++] = i;
+            }
+        }
+        return symbols;
+    }
+
+    /*
+     * Lists the nonzero lengths of a dense length table
+     */
+    private static int[] usedLengths(int[] lengths) {
+        int[] symbols = usedSymbols(lengths);
+        int[] used = new int[symbols.length];
+        for (int i = 0; i < symbols.length; ++i) {
+            used[i] = lengths[symbols[i]];
+        }
+        return used;
+    }
+}
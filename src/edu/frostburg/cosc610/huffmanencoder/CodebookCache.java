@@ -0,0 +1,266 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of pre-trained codebooks for encoding many small messages.<p>
+ * Building a tree for every message of a few hundred chars costs more than
+ * encoding it, and such short messages compress poorly with their own table.
+ * Instead a codebook is trained once from a representative corpus and stored
+ * under a numeric ID. Messages are encoded with the shared codes and carry only
+ * the ID and their length in front of the packed codes. Codebooks are read
+ * from the store directory on first use and kept in a least recently used
+ * cache together with their encoder and decoder, so loading a codebook never
+ * builds a tree.<p>
+ * The cache is shared by every coding thread without a global lock. A hit is
+ * one read of a ConcurrentHashMap and of a volatile field. A miss reads the
+ * codebook file while holding only the lock of that ID's entry, so threads
+ * using other codebooks carry on. Evicting the least recently used entry
+ * scans the cache, which is only done when a miss grows it past its
+ * capacity.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class CodebookCache {
+
+    private final Path directory;
+    private final int capacity;
+    private final ConcurrentHashMap<Integer, Holder> entries;
+
+    /**
+     * Creates a new CodebookCache
+     *
+     * @param directory the directory the codebooks are stored in
+     * @param capacity the maximum number of codebooks kept in memory
+     */
+    public CodebookCache(Path directory, int capacity) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Cannot store codebooks in a null directory");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The minimum allowable capacity is 1");
+        }
+        this.directory = directory;
+        this.capacity = capacity;
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Trains a codebook from the given corpus. Every char below alphabetSize
+     * is counted once more than it occurs, so messages may contain chars that
+     * the corpus lacks.
+     *
+     * @param corpus the sample messages to train from
+     * @param alphabetSize the number of chars that receive a code, starting
+     * at 0
+     * @param maxCodeLength the maximum code length in bits
+     * @return the trained codebook
+     */
+    public static Codebook train(Iterable<? extends CharSequence> corpus, int alphabetSize, int maxCodeLength) {
+        if (alphabetSize < 1 || alphabetSize > 65536) {
+            throw new IllegalArgumentException(String.format("%d is an invalid alphabet size. The maximum is 65536.", alphabetSize));
+        }
+        int[] frequencies = new int[alphabetSize];
+        for (int i = 0; i < alphabetSize; ++i) {
+            frequencies[i] = 1;
+        }
+        for (CharSequence message : corpus) {
+            int length = message.length();
+            for (int i = 0; i < length; ++i) {
+                char c = message.charAt(i);
+                if (c < alphabetSize) {
+                    frequencies[c]++;
+                }
+            }
+        }
+        return new HuffmanEncoder(frequencies, maxCodeLength, TreeBuilder.TWO_QUEUE).getCodebook();
+    }
+
+    /**
+     * Stores the given codebook under the given ID and caches it
+     *
+     * @param id the ID of the codebook
+     * @param codebook the codebook
+     * @throws IOException if the codebook cannot be written
+     */
+    public synchronized void store(int id, Codebook codebook) throws IOException {
+        if (codebook == null) {
+            throw new IllegalArgumentException("Cannot store a null codebook");
+        }
+        Files.createDirectories(directory);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file(id)))) {
+            codebook.write(out);
+        }
+        entries.put(id, new Holder(new Entry(codebook)));
+        evict();
+    }
+
+    /**
+     * Gets the encoder for the codebook with the given ID
+     *
+     * @param id the ID of the codebook
+     * @return the encoder for the codebook
+     * @throws IOException if the codebook is not stored or cannot be read
+     */
+    public HuffmanEncoder getEncoder(int id) throws IOException {
+        return get(id).encoder;
+    }
+
+    /**
+     * Gets the decoder for the codebook with the given ID
+     *
+     * @param id the ID of the codebook
+     * @return the decoder for the codebook
+     * @throws IOException if the codebook is not stored or cannot be read
+     */
+    public HuffmanDecoder getDecoder(int id) throws IOException {
+        return get(id).decoder;
+    }
+
+    /**
+     * Encodes the given message with the codebook with the given ID
+     *
+     * @param id the ID of the codebook
+     * @param message the message to encode
+     * @return the codebook ID, the message length and the packed codes
+     * @throws IOException if the codebook is not stored or cannot be read
+     */
+    public byte[] encode(int id, String message) throws IOException {
+        HuffmanEncoder encoder = getEncoder(id);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(message.length() / 2 + 8);
+        VarInt.write(bytes, id);
+        VarInt.write(bytes, message.length());
+        try (BitOutputStream out = new BitOutputStream(bytes)) {
+            encoder.encode(message.toCharArray(), 0, message.length(), out);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a message produced by encode(int, String)
+     *
+     * @param message the encoded message
+     * @return the decoded message
+     * @throws IOException if the message is invalid or its codebook is not
+     * stored or cannot be read
+     */
+    public String decode(byte[] message) throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(message);
+        HuffmanDecoder decoder = getDecoder(VarInt.readInt(in));
+        int length = VarInt.readInt(in);
+        //every code is at least one bit long
+        if (length > in.available() * 8L) {
+            throw new IOException("The message is longer than its codes.");
+        }
+        char[] characters = new char[length];
+        decoder.decode(new BitInputStream(in), characters, length);
+        return new String(characters);
+    }
+
+    /*
+     * Gets the cached entry for the given ID, loading it from the store on a miss
+     */
+    private Entry get(int id) throws IOException {
+        Path file = file(id);
+        Holder holder = entries.get(id);
+        if (holder == null) {
+            //the holder is empty, so nothing is read while the map locks its bin
+            holder = entries.computeIfAbsent(id, key -> new Holder(null));
+            evict();
+        }
+        holder.lastUsed = System.nanoTime();
+        Entry entry = holder.entry;
+        CodecMetrics.getInstance().recordCacheLookup(entry != null);
+        if (entry == null) {
+            try {
+                entry = holder.load(file, id);
+            } catch (IOException | RuntimeException ex) {
+                entries.remove(id, holder);
+                throw ex;
+            }
+        }
+        return entry;
+    }
+
+    /*
+     * Removes the least recently used entries until the cache is within its capacity
+     */
+    private void evict() {
+        while (entries.size() > capacity) {
+            Map.Entry<Integer, Holder> eldest = null;
+            for (Map.Entry<Integer, Holder> candidate : entries.entrySet()) {
+                if (eldest == null || candidate.getValue().lastUsed < eldest.getValue().lastUsed) {
+                    eldest = candidate;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            entries.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    /*
+     * Gets the file the codebook with the given ID is stored in
+     */
+    private Path file(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("The minimum allowable codebook ID is 0");
+        }
+        return directory.resolve(String.format("codebook-%d.bin", id));
+    }
+
+    /*
+     * The slot of one ID in the cache, which loads its entry at most once
+     */
+    private static class Holder {
+
+        private volatile Entry entry;
+        private volatile long lastUsed;
+
+        private Holder(Entry entry) {
+            this.entry = entry;
+            this.lastUsed = System.nanoTime();
+        }
+
+        /*
+         * Reads the entry from the given file unless another thread already has
+         */
+        private synchronized Entry load(Path file, int id) throws IOException {
+            if (entry == null) {
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                    entry = new Entry(Codebook.read(in));
+                } catch (NoSuchFileException ex) {
+                    throw new IOException(String.format("No codebook is stored with the ID %d.", id), ex);
+                }
+            }
+            return entry;
+        }
+    }
+
+    /*
+     * A cached codebook with its encoder and decoder
+     */
+    private static class Entry {
+
+        private final HuffmanEncoder encoder;
+        private final HuffmanDecoder decoder;
+
+        private Entry(Codebook codebook) {
+            this.encoder = new HuffmanEncoder(codebook);
+            this.decoder = new HuffmanDecoder(codebook);
+        }
+    }
+}
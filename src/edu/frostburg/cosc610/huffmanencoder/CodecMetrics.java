@@ -0,0 +1,260 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide counters for the block codecs.<p>
+ * The block writers and readers record the bytes they consume and produce,
+ * the code lengths and entropy of every Huffman coded block, and the time
+ * spent in each phase; CodebookCache records its hits and misses. Counters are
+ * LongAdders, so threads coding blocks in parallel update them without
+ * contending, and they are only touched once per block or lookup, never per
+ * symbol. The metrics can be read directly or published on the platform
+ * MBeanServer with register.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class CodecMetrics implements CodecMetricsMXBean {
+
+    /**
+     * The name the metrics are registered under
+     */
+    public static final String OBJECT_NAME = "edu.frostburg.cosc610.huffmanencoder:type=CodecMetrics";
+
+    private static final CodecMetrics INSTANCE = new CodecMetrics();
+
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder bytesDecoded = new LongAdder();
+    private final LongAdder blocksEncoded = new LongAdder();
+    private final LongAdder blocksUncoded = new LongAdder();
+    private final LongAdder blocksDecoded = new LongAdder();
+    private final LongAdder symbolsCoded = new LongAdder();
+    private final LongAdder codeBits = new LongAdder();
+    private final DoubleAdder entropyBits = new DoubleAdder();
+    private final LongAdder histogramNanos = new LongAdder();
+    private final LongAdder treeBuildNanos = new LongAdder();
+    private final LongAdder encodeNanos = new LongAdder();
+    private final LongAdder decodeNanos = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    private CodecMetrics() {
+    }
+
+    /**
+     * Gets the metrics shared by every codec in the process
+     *
+     * @return the metrics
+     */
+    public static CodecMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metrics with the platform MBeanServer under OBJECT_NAME.
+     * Registering again has no effect.
+     *
+     * @return the name the metrics are registered under
+     */
+    public static ObjectName register() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                server.registerMBean(INSTANCE, name);
+            } catch (InstanceAlreadyExistsException ex) {
+                //already published
+            }
+            return name;
+        } catch (JMException ex) {
+            throw new IllegalStateException("The codec metrics could not be registered.", ex);
+        }
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public long getBytesDecoded() {
+        return bytesDecoded.sum();
+    }
+
+    @Override
+    public double getCompressionRatio() {
+        long in = bytesIn.sum();
+        return in == 0 ? 0 : (double) bytesOut.sum() / in;
+    }
+
+    @Override
+    public long getBlocksEncoded() {
+        return blocksEncoded.sum();
+    }
+
+    @Override
+    public long getBlocksUncoded() {
+        return blocksUncoded.sum();
+    }
+
+    @Override
+    public long getBlocksDecoded() {
+        return blocksDecoded.sum();
+    }
+
+    @Override
+    public double getAverageCodeLength() {
+        long symbols = symbolsCoded.sum();
+        return symbols == 0 ? 0 : (double) codeBits.sum() / symbols;
+    }
+
+    @Override
+    public double getEntropy() {
+        long symbols = symbolsCoded.sum();
+        return symbols == 0 ? 0 : entropyBits.sum() / symbols;
+    }
+
+    @Override
+    public long getHistogramNanos() {
+        return histogramNanos.sum();
+    }
+
+    @Override
+    public long getTreeBuildNanos() {
+        return treeBuildNanos.sum();
+    }
+
+    @Override
+    public long getEncodeNanos() {
+        return encodeNanos.sum();
+    }
+
+    @Override
+    public long getDecodeNanos() {
+        return decodeNanos.sum();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder adder : new LongAdder[]{bytesIn, bytesOut, bytesDecoded, blocksEncoded, blocksUncoded, blocksDecoded, symbolsCoded,
+            codeBits, histogramNanos, treeBuildNanos, encodeNanos, decodeNanos, cacheHits, cacheMisses}) {
+            adder.reset();
+        }
+        entropyBits.reset();
+    }
+
+    /**
+     * Records an encoded block
+     *
+     * @param inputBytes the size of the block's symbols before coding
+     * @param outputBytes the size of the block as written
+     * @param coded true if the block was Huffman coded rather than stored or
+     * run-length coded
+     */
+    void recordBlock(long inputBytes, long outputBytes, boolean coded) {
+        bytesIn.add(inputBytes);
+        bytesOut.add(outputBytes);
+        blocksEncoded.increment();
+        if (!coded) {
+            blocksUncoded.increment();
+        }
+    }
+
+    /**
+     * Records the code lengths and entropy of a Huffman coded block
+     *
+     * @param frequencies the frequency of each symbol in the block
+     * @param codebook the codebook the block was coded with
+     */
+    void recordCodes(int[] frequencies, Codebook codebook) {
+        long symbols = 0;
+        long bits = 0;
+        double weighted = 0;
+        for (int symbol = 0; symbol < frequencies.length; ++symbol) {
+            int frequency = frequencies[symbol];
+            if (frequency != 0) {
+                symbols += frequency;
+                bits += (long) frequency * codebook.getLength(symbol);
+                weighted += frequency * Math.log(frequency);
+            }
+        }
+        if (symbols == 0) {
+            return;
+        }
+        symbolsCoded.add(symbols);
+        codeBits.add(bits);
+        //the entropy of n symbols is the sum of f * log2(n / f)
+        entropyBits.add((symbols * Math.log(symbols) - weighted) / Math.log(2));
+    }
+
+    /**
+     * Records a decoded block
+     *
+     * @param outputBytes the size of the decoded symbols
+     * @param startNanos the value of System.nanoTime when decoding started
+     */
+    void recordDecode(long outputBytes, long startNanos) {
+        decodeNanos.add(System.nanoTime() - startNanos);
+        bytesDecoded.add(outputBytes);
+        blocksDecoded.increment();
+    }
+
+    /**
+     * Records time spent counting symbols
+     *
+     * @param startNanos the value of System.nanoTime when counting started
+     */
+    void recordHistogram(long startNanos) {
+        histogramNanos.add(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records time spent building codes
+     *
+     * @param startNanos the value of System.nanoTime when building started
+     */
+    void recordTreeBuild(long startNanos) {
+        treeBuildNanos.add(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records time spent writing codes
+     *
+     * @param startNanos the value of System.nanoTime when encoding started
+     */
+    void recordEncode(long startNanos) {
+        encodeNanos.add(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records a codebook lookup
+     *
+     * @param hit true if the codebook was already cached
+     */
+    void recordCacheLookup(boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+}
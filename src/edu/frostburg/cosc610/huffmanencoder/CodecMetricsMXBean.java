@@ -0,0 +1,125 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+/**
+ * The management interface of CodecMetrics. Every value covers the blocks
+ * coded since the process started or the metrics were last reset.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public interface CodecMetricsMXBean {
+
+    /**
+     * Gets the number of uncoded bytes given to the encoders. A char counts as
+     * two bytes.
+     *
+     * @return the number of bytes encoded
+     */
+    long getBytesIn();
+
+    /**
+     * Gets the number of encoded bytes written by the encoders
+     *
+     * @return the number of bytes written
+     */
+    long getBytesOut();
+
+    /**
+     * Gets the number of bytes produced by the decoders. A char counts as two
+     * bytes.
+     *
+     * @return the number of bytes decoded
+     */
+    long getBytesDecoded();
+
+    /**
+     * Gets the size of the encoded output relative to the input
+     *
+     * @return bytes out divided by bytes in, or 0 if nothing was encoded
+     */
+    double getCompressionRatio();
+
+    /**
+     * Gets the number of blocks encoded
+     *
+     * @return the number of blocks encoded
+     */
+    long getBlocksEncoded();
+
+    /**
+     * Gets the number of blocks that were stored or run-length coded because
+     * Huffman codes would not have paid off
+     *
+     * @return the number of blocks encoded without codes
+     */
+    long getBlocksUncoded();
+
+    /**
+     * Gets the number of blocks decoded
+     *
+     * @return the number of blocks decoded
+     */
+    long getBlocksDecoded();
+
+    /**
+     * Gets the average length of the codes written for Huffman coded symbols
+     *
+     * @return the average code length in bits, or 0 if nothing was coded
+     */
+    double getAverageCodeLength();
+
+    /**
+     * Gets the average order-0 entropy of the Huffman coded symbols of each
+     * block, the lower bound of the average code length
+     *
+     * @return the entropy in bits per symbol, or 0 if nothing was coded
+     */
+    double getEntropy();
+
+    /**
+     * Gets the time spent counting symbols
+     *
+     * @return the time spent in nanoseconds
+     */
+    long getHistogramNanos();
+
+    /**
+     * Gets the time spent building codes from the counts
+     *
+     * @return the time spent in nanoseconds
+     */
+    long getTreeBuildNanos();
+
+    /**
+     * Gets the time spent writing codes
+     *
+     * @return the time spent in nanoseconds
+     */
+    long getEncodeNanos();
+
+    /**
+     * Gets the time spent reading blocks and decoding codes
+     *
+     * @return the time spent in nanoseconds
+     */
+    long getDecodeNanos();
+
+    /**
+     * Gets the number of codebook lookups served from a CodebookCache
+     *
+     * @return the number of cache hits
+     */
+    long getCacheHits();
+
+    /**
+     * Gets the number of codebook lookups that loaded from the store
+     *
+     * @return the number of cache misses
+     */
+    long getCacheMisses();
+
+    /**
+     * Sets every counter back to 0
+     */
+    void reset();
+}
@@ -0,0 +1,83 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes bytes with order-1 context tables.<p>
+ * The input is split into blocks of at most DEFAULT_BLOCK_SIZE bytes, and each
+ * block is written as a CONTEXT block whose ContextModel is built from the
+ * block's byte pairs. Larger blocks amortize the per-context codebooks over
+ * more data. The output is a byte stream, so it is decoded by
+ * MappedFileCodec.decode as well as by decode.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class ContextCodec {
+
+    /**
+     * The default number of bytes in each block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 22;
+
+    private ContextCodec() {
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer as a complete stream.
+     * The position of the buffer is advanced to its limit.
+     *
+     * @param bytes the bytes to encode
+     * @param out the stream the encoded stream is written to
+     * @throws IOException if the stream cannot be written
+     */
+    public static void encode(ByteBuffer bytes, OutputStream out) throws IOException {
+        encode(bytes, DEFAULT_BLOCK_SIZE, out);
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer as a complete stream in
+     * blocks of the given size. The position of the buffer is advanced to its
+     * limit.
+     *
+     * @param bytes the bytes to encode
+     * @param blockSize the maximum number of bytes in each block
+     * @param out the stream the encoded stream is written to
+     * @throws IOException if the stream cannot be written
+     */
+    public static void encode(ByteBuffer bytes, int blockSize, OutputStream out) throws IOException {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Cannot encode a null buffer");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The minimum allowable block size is 1");
+        }
+        BlockFormat.writeStreamHeader(out);
+        int end = bytes.limit();
+        while (bytes.position() < end) {
+            ByteBuffer block = bytes.duplicate();
+            //through Buffer, since the ByteBuffer overrides of limit(int) and position(int) do not exist before Java 9
+            ((Buffer) block).limit(Math.min(end, bytes.position() + blockSize));
+            BlockFormat.writeContextBlock(block, out);
+            ((Buffer) bytes).position(block.limit());
+        }
+        out.write(BlockFormat.END);
+    }
+
+    /**
+     * Decodes a byte stream and writes the bytes to the given stream
+     *
+     * @param in the stream to decode
+     * @param out the stream the decoded bytes are written to
+     * @return the number of bytes decoded
+     * @throws IOException if the stream cannot be read or is invalid, or the
+     * output cannot be written
+     */
+    public static long decode(InputStream in, OutputStream out) throws IOException {
+        return MappedFileCodec.decode(in, out);
+    }
+}
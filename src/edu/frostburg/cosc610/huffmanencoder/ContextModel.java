@@ -0,0 +1,210 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * An order-1 model that codes each byte with a table chosen by the byte
+ * before it.<p>
+ * A fallback codebook is built from the order-0 frequencies of the whole
+ * block. Every preceding byte, or context, is then given its own codebook
+ * built from the bytes that follow it, but only if the bits it saves exceed
+ * the size of the stored codebook; all other contexts share the fallback. On
+ * text with strong byte-to-byte correlation, such as logs and JSON, most of
+ * the busy contexts earn their own table while the rare ones cost nothing.
+ * Coding remains one table lookup per byte.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+final class ContextModel {
+
+    private static final int CONTEXTS = 256;
+
+    private final Codebook fallback;
+    private final Codebook[] codebooks;
+
+    /*
+     * Creates a model from the fallback and the codebook of each context
+     */
+    private ContextModel(Codebook fallback, Codebook[] codebooks) {
+        this.fallback = fallback;
+        this.codebooks = codebooks;
+    }
+
+    /**
+     * Builds a model from an order-1 frequency table as filled in by
+     * Histogram.countPairs
+     *
+     * @param pairs the frequency of byte b following byte a at index
+     * (a << 8) | b
+     * @return the model
+     * @throws IOException if a codebook cannot be measured
+     */
+    static ContextModel build(int[] pairs) throws IOException {
+        int[] frequencies = new int[CONTEXTS];
+        for (int i = 0; i < CONTEXTS * CONTEXTS; ++i) {
+            frequencies[i & 0xFF] += pairs[i];
+        }
+        Codebook fallback = new HuffmanEncoder(frequencies, Codebook.MAX_LENGTH, TreeBuilder.TWO_QUEUE).getCodebook();
+        Codebook[] codebooks = new Codebook[CONTEXTS];
+        Arrays.fill(codebooks, fallback);
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        for (int context = 0; context < CONTEXTS; ++context) {
+            int[] row = Arrays.copyOfRange(pairs, context << 8, (context + 1) << 8);
+            long fallbackBits = 0;
+            for (int symbol = 0; symbol < CONTEXTS; ++symbol) {
+                fallbackBits += (long) row[symbol] * fallback.getLength(symbol);
+            }
+            if (fallbackBits == 0) {
+                continue;
+            }
+            Codebook codebook = new HuffmanEncoder(row, Codebook.MAX_LENGTH, TreeBuilder.TWO_QUEUE).getCodebook();
+            long bits = 0;
+            for (int symbol = 0; symbol < CONTEXTS; ++symbol) {
+                bits += (long) row[symbol] * codebook.getLength(symbol);
+            }
+            table.reset();
+            codebook.write(table);
+            //the context number and the stored codebook are paid for once per block
+            if (bits + 8L * (table.size() + 1) < fallbackBits) {
+                codebooks[context] = codebook;
+            }
+        }
+        return new ContextModel(fallback, codebooks);
+    }
+
+    /**
+     * Writes the fallback codebook followed by the number of contexts with
+     * their own codebook and the gap to each such context from the previous
+     * one with its codebook
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    void write(OutputStream out) throws IOException {
+        fallback.write(out);
+        VarInt.write(out, getTableCount());
+        int previous = -1;
+        for (int context = 0; context < CONTEXTS; ++context) {
+            if (codebooks[context] != fallback) {
+                VarInt.write(out, context - previous - 1);
+                codebooks[context].write(out);
+                previous = context;
+            }
+        }
+    }
+
+    /**
+     * Reads a model written by write
+     *
+     * @param in the stream to read from
+     * @return the model
+     * @throws IOException if the stream cannot be read or does not contain a
+     * valid model
+     */
+    static ContextModel read(InputStream in) throws IOException {
+        Codebook fallback = readByteCodebook(in);
+        Codebook[] codebooks = new Codebook[CONTEXTS];
+        Arrays.fill(codebooks, fallback);
+        int count = VarInt.readInt(in);
+        if (count > CONTEXTS) {
+            throw new IOException("The stream does not contain a valid context model.");
+        }
+        int context = -1;
+        for (int i = 0; i < count; ++i) {
+            context += VarInt.readInt(in) + 1;
+            if (context < 0 || context >= CONTEXTS) {
+                throw new IOException("The stream does not contain a valid context model.");
+            }
+            codebooks[context] = readByteCodebook(in);
+        }
+        return new ContextModel(fallback, codebooks);
+    }
+
+    /**
+     * Gets the number of contexts that have their own codebook
+     *
+     * @return the number of contexts that do not use the fallback
+     */
+    int getTableCount() {
+        int count = 0;
+        for (Codebook codebook : codebooks) {
+            if (codebook != fallback) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer and writes the packed
+     * codes to the given BitOutputStream. The first byte is coded in context
+     * 0. The position of the buffer is advanced to its limit.
+     *
+     * @param bytes the bytes to encode
+     * @param out the stream the codes are written to
+     * @throws IOException if the codes cannot be written
+     */
+    void encode(ByteBuffer bytes, BitOutputStream out) throws IOException {
+        long[][] codeTables = new long[CONTEXTS][];
+        byte[][] lengthTables = new byte[CONTEXTS][];
+        for (int context = 0; context < CONTEXTS; ++context) {
+            //every byte falls in the first page, which always exists
+            codeTables[context] = codebooks[context].codes[0];
+            lengthTables[context] = codebooks[context].lengths[0];
+        }
+        int previous = 0;
+        int end = bytes.limit();
+        for (int i = bytes.position(); i < end; ++i) {
+            int b = bytes.get(i) & 0xFF;
+            int length = lengthTables[previous][b];
+            if (length == 0) {
+                throw new IllegalArgumentException(String.format("The byte %d does not have a code after the byte %d.", b, previous));
+            }
+            out.write(codeTables[previous][b], length);
+            previous = b;
+        }
+        //through Buffer, since the ByteBuffer override of position(int) does not exist before Java 9
+        ((Buffer) bytes).position(end);
+    }
+
+    /**
+     * Decodes the given number of bytes from the given stream into the given
+     * array
+     *
+     * @param in the stream to decode from
+     * @param bytes the array the decoded bytes are stored in
+     * @param count the number of bytes to decode
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * code
+     */
+    void decode(BitInputStream in, byte[] bytes, int count) throws IOException {
+        HuffmanDecoder[] decoders = new HuffmanDecoder[CONTEXTS];
+        HuffmanDecoder shared = new HuffmanDecoder(fallback);
+        for (int context = 0; context < CONTEXTS; ++context) {
+            decoders[context] = codebooks[context] == fallback ? shared : new HuffmanDecoder(codebooks[context]);
+        }
+        int previous = 0;
+        for (int i = 0; i < count; ++i) {
+            previous = decoders[previous].decodeSymbol(in);
+            bytes[i] = (byte) previous;
+        }
+    }
+
+    /*
+     * Reads a codebook whose symbols must be bytes
+     */
+    private static Codebook readByteCodebook(InputStream in) throws IOException {
+        Codebook codebook = Codebook.read(in);
+        if (codebook.getAlphabetSize() > CONTEXTS) {
+            throw new IOException("The block holds symbols that are not bytes.");
+        }
+        return codebook;
+    }
+}
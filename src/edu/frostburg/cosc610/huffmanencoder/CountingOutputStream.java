@@ -0,0 +1,46 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An OutputStream that counts the bytes written through it
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+final class CountingOutputStream extends FilterOutputStream {
+
+    private long count;
+
+    /**
+     * Creates a new CountingOutputStream
+     *
+     * @param out the stream the bytes are passed on to
+     */
+    CountingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    /**
+     * Gets the number of bytes written so far
+     *
+     * @return the number of bytes written
+     */
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        ++count;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        out.write(bytes, offset, length);
+        count += length;
+    }
+}
@@ -1,11 +1,19 @@
 package edu.frostburg.cosc610.huffmanencoder;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 /**
  * The Driver for the HuffmanEncoder
@@ -15,47 +23,91 @@ import java.io.IOException;
  */
 public class Driver {
 
-    private static final String OUTPUT = "./output.txt";
+    private static final String OUTPUT = "./output.bin";
     private static final String STATISTICS = "./statistics.txt";
+    private static final String BYTES = "-b";
+    private static final String SEEKABLE = "-s";
 
     /**
      * The main method for the Driver
      *
-     * @param args the command line arguments; exactly one is required: the
-     * input filename
+     * @param args the command line arguments; the input filename is required
+     * and may be preceded by -b to encode the file as raw bytes instead of
+     * text, or by -s to encode raw bytes with a block directory that
+     * SeekableDecoder can read any range from
      */
     public static void main(String[] args) {
-        if (args.length != 1) {
-            System.out.println("Invalid number of command line arguments. Please specify only the input filename.");
+        boolean bytes = args.length == 2 && BYTES.equals(args[0]);
+        boolean seekable = args.length == 2 && SEEKABLE.equals(args[0]);
+        if (args.length != 1 && !bytes && !seekable) {
+            System.out.println("Invalid command line arguments. Please specify the input filename, optionally preceded by -b to encode raw bytes or -s to encode seekable raw bytes.");
             System.exit(1);
         }
-        String filename = args[0];
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename));
-                BufferedWriter codeWriter = new BufferedWriter(new FileWriter(OUTPUT));
-                BufferedWriter statWriter = new BufferedWriter(new FileWriter(STATISTICS))) {
-            HuffmanEncoder encoder = new HuffmanEncoder(filename);
-            String coded;
-            int inputSize = 0;
-            int outputSize = 0;
-            int bytesRead;
-            char[] buffer = new char[1024];
-            bytesRead = reader.read(buffer);
-            while (bytesRead != -1) {
-                inputSize += bytesRead;
-                coded = encoder.encode(buffer, bytesRead);
-                outputSize += coded.length();
-                codeWriter.write(coded);
-                bytesRead = reader.read(buffer);
+        String filename = args[args.length - 1];
+        Path temp = null;
+        try {
+            //encode into a temporary file so that a failed run leaves any earlier output in place
+            Path target = Paths.get(OUTPUT).toAbsolutePath();
+            temp = target.resolveSibling(target.getFileName() + ".tmp");
+            long inputSize;
+            HuffmanEncoder statistics = null;
+            try (FileOutputStream output = new FileOutputStream(temp.toFile())) {
+                if (bytes) {
+                    //the file is memory-mapped and each byte is a symbol, so no charset decoding is done
+                    BufferedOutputStream buffered = new BufferedOutputStream(output);
+                    statistics = MappedFileCodec.encode(Paths.get(filename), buffered);
+                    buffered.close();
+                    inputSize = new File(filename).length();
+                } else if (seekable) {
+                    //every block gets its own codes so that it can be decoded on its own
+                    try (HuffmanOutputStream out = new HuffmanOutputStream(output, HuffmanOutputStream.DEFAULT_BLOCK_SIZE, true)) {
+                        inputSize = Files.copy(Paths.get(filename), out);
+                    }
+                } else {
+                    try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+                        //the file is read once; each block is analyzed and encoded while it is still in memory
+                        BlockEncoder encoder = new BlockEncoder(output);
+                        encoder.write(reader);
+                        encoder.close();
+                        inputSize = encoder.getInputSize();
+                        if (inputSize != 0) {
+                            //the statistics show the codes a single table for the whole file would use
+                            statistics = new HuffmanEncoder(encoder.getFrequencies());
+                        }
+                    }
+                }
             }
-            //convert outputSize from number of bits to number of bytes
-            outputSize = outputSize % 8 == 0 ? outputSize / 8 : outputSize / 8 + 1;
-            statWriter.write(String.format("Input size: %d bytes%n", inputSize));
-            statWriter.write(String.format("Output size: %d bytes%n%n", outputSize));
-            statWriter.write(encoder.getStatistics());
-        } catch (FileNotFoundException ex) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            try (BufferedWriter statWriter = new BufferedWriter(new FileWriter(STATISTICS))) {
+                long outputSize = Files.size(target);
+                statWriter.write(String.format("Input size: %d bytes%n", inputSize));
+                statWriter.write(String.format("Output size: %d bytes%n", outputSize));
+                CodecMetrics metrics = CodecMetrics.getInstance();
+                statWriter.write(String.format("Average code length: %.3f bits (entropy: %.3f bits)%n%n", metrics.getAverageCodeLength(), metrics.getEntropy()));
+                if (statistics != null) {
+                    statWriter.write(statistics.getStatistics());
+                }
+            }
+        } catch (FileNotFoundException | NoSuchFileException ex) {
             System.out.printf("The file %s could not be found.%n", filename);
         } catch (IOException ex) {
             System.out.println(ex.getMessage());
+        } finally {
+            deleteTemporary(temp);
+        }
+    }
+
+    /*
+     * Deletes the temporary output file if it was not moved into place
+     */
+    private static void deleteTemporary(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException ex) {
+            System.out.println(ex.getMessage());
         }
     }
 }
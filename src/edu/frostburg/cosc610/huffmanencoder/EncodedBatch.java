@@ -0,0 +1,166 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.util.Arrays;
+
+/**
+ * A reusable buffer holding many encoded records.<p>
+ * The batch encode methods of HuffmanEncoder pack the codes of every record
+ * into one byte array, each record starting on a byte boundary and ending
+ * with zero bits up to the next one. Record i occupies the bytes from
+ * getOffsets()[i] up to getOffsets()[i + 1]. Clearing a batch keeps both
+ * arrays, so encoding batch after batch into the same EncodedBatch allocates
+ * nothing once the arrays have grown to the largest batch.<p>
+ * The arrays returned by getBuffer and getOffsets are the batch's own and are
+ * only valid until the batch is next encoded into or cleared.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class EncodedBatch {
+
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    private byte[] buffer;
+    private int[] offsets;
+    private int size;
+
+    /**
+     * Creates a new empty EncodedBatch
+     */
+    public EncodedBatch() {
+        this(DEFAULT_CAPACITY, 256);
+    }
+
+    /**
+     * Creates a new empty EncodedBatch with room for the given number of
+     * bytes and records before it grows
+     *
+     * @param byteCapacity the initial size of the buffer
+     * @param recordCapacity the initial number of records
+     */
+    public EncodedBatch(int byteCapacity, int recordCapacity) {
+        if (byteCapacity < 0 || recordCapacity < 0) {
+            throw new IllegalArgumentException("The capacity of a batch cannot be negative");
+        }
+        this.buffer = new byte[byteCapacity];
+        this.offsets = new int[recordCapacity + 1];
+    }
+
+    /**
+     * Removes every record, keeping the arrays for reuse
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Gets the number of records in the batch
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of bytes used by all records
+     *
+     * @return the number of bytes used
+     */
+    public int getByteCount() {
+        return offsets[size];
+    }
+
+    /**
+     * Gets the buffer the records are packed in. Only the first getByteCount
+     * bytes belong to records.
+     *
+     * @return the buffer
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Gets the offsets of the records in the buffer. Only the first size() + 1
+     * offsets are valid; the last of them is the end of the final record.
+     *
+     * @return the offsets
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Gets the number of bytes in the given record
+     *
+     * @param index the index of the record
+     * @return the length of the record in bytes
+     */
+    public int getLength(int index) {
+        checkIndex(index);
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Copies the given record into an array of its own
+     *
+     * @param index the index of the record
+     * @return the bytes of the record
+     */
+    public byte[] toByteArray(int index) {
+        checkIndex(index);
+        return Arrays.copyOfRange(buffer, offsets[index], offsets[index + 1]);
+    }
+
+    /**
+     * Makes room for the given number of additional records
+     *
+     * @param count the number of records about to be added
+     */
+    void reserveRecords(int count) {
+        long required = (long) size + count + 1;
+        if (required > offsets.length) {
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("A batch cannot hold more than about 2^31 records.");
+            }
+            offsets = Arrays.copyOf(offsets, (int) Math.max(required, Math.min(Integer.MAX_VALUE - 8, 2L * offsets.length)));
+        }
+    }
+
+    /**
+     * Gets a buffer holding at least the given number of bytes, growing the
+     * current one if necessary
+     *
+     * @param capacity the number of bytes needed
+     * @return the buffer
+     */
+    byte[] reserveBytes(long capacity) {
+        if (capacity > buffer.length) {
+            if (capacity > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("A batch cannot hold more than about 2GB of codes.");
+            }
+            buffer = Arrays.copyOf(buffer, (int) Math.max(capacity, Math.min(Integer.MAX_VALUE - 8, 2L * buffer.length)));
+        }
+        return buffer;
+    }
+
+    /**
+     * Ends the current record at the given offset. The records must first be
+     * reserved with reserveRecords.
+     *
+     * @param end the offset just past the last byte of the record
+     */
+    void addRecord(int end) {
+        offsets[++size] = end;
+    }
+
+    /*
+     * Checks that the given index is the index of a record
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("%d is not a valid record index. The batch holds %d records.", index, size));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+/**
+ * A sparse frequency table for symbols from 0 to Character.MAX_CODE_POINT.<p>
+ * Counts are kept in pages of PAGE_SIZE consecutive symbols, and a page is
+ * only allocated once one of its symbols is counted. Text that uses a few
+ * hundred distinct chars spread over the 16-bit range therefore needs a few
+ * pages instead of a table of 65536 counters. The used symbols can be listed
+ * in ascending order without scanning the empty pages, which lets the encoder
+ * remap them to a dense alphabet of 0 to n - 1 before building its codes.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class FrequencyTable {
+
+    /**
+     * The number of symbols counted by each page
+     */
+    public static final int PAGE_SIZE = 256;
+
+    private static final int PAGE_BITS = 8;
+    private static final int MAX_SYMBOL = Character.MAX_CODE_POINT;
+
+    private final int[][] pages;
+    private int distinct;
+    private long total;
+    private int maxSymbol;
+
+    /**
+     * Creates a new, empty FrequencyTable
+     */
+    public FrequencyTable() {
+        this.pages = new int[(MAX_SYMBOL >>> PAGE_BITS) + 1][];
+        this.maxSymbol = -1;
+    }
+
+    /**
+     * Creates a copy of the given FrequencyTable
+     *
+     * @param table the table to copy
+     */
+    public FrequencyTable(FrequencyTable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Cannot copy a null frequency table");
+        }
+        this.pages = new int[table.pages.length][];
+        for (int i = 0; i < pages.length; ++i) {
+            if (table.pages[i] != null) {
+                pages[i] = table.pages[i].clone();
+            }
+        }
+        this.distinct = table.distinct;
+        this.total = table.total;
+        this.maxSymbol = table.maxSymbol;
+    }
+
+    /**
+     * Creates a FrequencyTable holding the counts of a dense frequency table,
+     * where the frequency of each symbol is stored at the index of the symbol
+     *
+     * @param frequencies the dense frequency table
+     * @return the sparse frequency table
+     */
+    public static FrequencyTable of(int[] frequencies) {
+        if (frequencies == null) {
+            throw new IllegalArgumentException("Cannot build codes from a null frequency table");
+        }
+        if (frequencies.length > MAX_SYMBOL + 1) {
+            throw new IllegalArgumentException(String.format("%d is an invalid alphabet size. The maximum is %d.", frequencies.length, MAX_SYMBOL + 1));
+        }
+        FrequencyTable table = new FrequencyTable();
+        for (int i = 0; i < frequencies.length; ++i) {
+            if (frequencies[i] != 0) {
+                table.add(i, frequencies[i]);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Counts one occurrence of the given char
+     *
+     * @param c the char to count
+     */
+    public void add(char c) {
+        add(c, 1);
+    }
+
+    /**
+     * Adds the given count to the frequency of the given symbol
+     *
+     * @param symbol the symbol; between 0 and Character.MAX_CODE_POINT
+     * @param count the number of occurrences; at least 0
+     */
+    public void add(int symbol, int count) {
+        if (symbol < 0 || symbol > MAX_SYMBOL) {
+            throw new IllegalArgumentException(String.format("%d is an invalid symbol. The maximum is %d.", symbol, MAX_SYMBOL));
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("The minimum allowable count is 0");
+        }
+        if (count == 0) {
+            return;
+        }
+        int[] page = pages[symbol >>> PAGE_BITS];
+        if (page == null) {
+            page = new int[PAGE_SIZE];
+            pages[symbol >>> PAGE_BITS] = page;
+        }
+        int index = symbol & (PAGE_SIZE - 1);
+        if (page[index] == 0) {
+            ++distinct;
+            maxSymbol = Math.max(maxSymbol, symbol);
+        }
+        if (page[index] > Integer.MAX_VALUE - count) {
+            throw new IllegalStateException(String.format("The frequency of the symbol %d exceeds %d.", symbol, Integer.MAX_VALUE));
+        }
+        page[index] += count;
+        total += count;
+    }
+
+    /**
+     * Gets the frequency of the given symbol
+     *
+     * @param symbol the symbol
+     * @return the frequency of the symbol
+     */
+    public int get(int symbol) {
+        if (symbol < 0 || symbol > maxSymbol) {
+            return 0;
+        }
+        int[] page = pages[symbol >>> PAGE_BITS];
+        return page == null ? 0 : page[symbol & (PAGE_SIZE - 1)];
+    }
+
+    /**
+     * Gets the number of symbols with a frequency greater than 0
+     *
+     * @return the number of distinct symbols counted
+     */
+    public int getDistinctCount() {
+        return distinct;
+    }
+
+    /**
+     * Gets the sum of all frequencies
+     *
+     * @return the total number of occurrences counted
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the size of the smallest alphabet that holds every counted symbol
+     *
+     * @return one more than the largest counted symbol, or 0 if the table is
+     * empty
+     */
+    public int getAlphabetSize() {
+        return maxSymbol + 1;
+    }
+
+    /**
+     * Gets the counted symbols in ascending order. The index of a symbol in
+     * this array is its number in the remapped dense alphabet.
+     *
+     * @return the symbols with a frequency greater than 0
+     */
+    public int[] getSymbols() {
+        int[] symbols = new int[distinct];
+        int n = 0;
+        int lastPage = maxSymbol >>> PAGE_BITS;
+        for (int p = 0; maxSymbol >= 0 && p <= lastPage; ++p) {
+            int[] page = pages[p];
+            if (page == null) {
+                continue;
+            }
+            for (int i = 0; i < PAGE_SIZE; ++i) {
+                if (page[i] != 0) {
+                    symbols[n++] = (p << PAGE_BITS) | i;
+                }
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * Gets the frequencies of the given symbols
+     *
+     * @param symbols the symbols
+     * @return the frequency of each symbol, in the same order
+     */
+    public int[] getFrequencies(int[] symbols) {
+        int[] frequencies = new int[symbols.length];
+        for (int i = 0; i < symbols.length; ++i) {
+            frequencies[i] = get(symbols[i]);
+        }
+        return frequencies;
+    }
+
+    /**
+     * Gets the frequencies as a dense table indexed by symbol
+     *
+     * @return the frequency of every symbol below getAlphabetSize()
+     */
+    public int[] toArray() {
+        int[] frequencies = new int[getAlphabetSize()];
+        for (int symbol : getSymbols()) {
+            frequencies[symbol] = get(symbol);
+        }
+        return frequencies;
+    }
+}
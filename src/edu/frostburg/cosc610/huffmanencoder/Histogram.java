@@ -0,0 +1,277 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Builds frequency tables in the form accepted by HuffmanEncoder(int[]).<p>
+ * A plain frequencies[c]++ loop stalls on skewed input because consecutive
+ * increments of the same counter depend on each other through memory. These
+ * methods spread consecutive symbols over four sub-tables, so neighbouring
+ * increments are independent, and merge the sub-tables at the end. Files are
+ * counted as bytes through memory-mapped chunks on a ForkJoinPool.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class Histogram {
+
+    /**
+     * The number of bytes of a file counted by each task
+     */
+    public static final int CHUNK_SIZE = 1 << 26;
+
+    private static final int WAYS = 4;
+
+    private Histogram() {
+    }
+
+    /**
+     * Adds the frequencies of the chars of the given char[] from the given
+     * beginIndex up to the given endIndex to the given frequency table
+     *
+     * @param characters the array of chars to count
+     * @param beginIndex the index of the first char that will be counted
+     * @param endIndex the ending index (exclusive) of chars that will be
+     * counted
+     * @param frequencies the frequency table; it must be large enough to hold
+     * every char counted
+     */
+    public static void count(char[] characters, int beginIndex, int endIndex, int[] frequencies) {
+        int length = endIndex - beginIndex;
+        //the extra sub-tables only pay for themselves when they are much smaller than the input
+        if (length < WAYS * frequencies.length) {
+            for (int i = beginIndex; i < endIndex; ++i) {
+                frequencies[characters[i]]++;
+            }
+            return;
+        }
+        int[] second = new int[frequencies.length];
+        int[] third = new int[frequencies.length];
+        int[] fourth = new int[frequencies.length];
+        int i = beginIndex;
+        for (int limit = endIndex - WAYS + 1; i < limit; i += WAYS) {
+            frequencies[characters[i]]++;
+            second[characters[i + 1]]++;
+            third[characters[i + 2]]++;
+            fourth[characters[i + 3]]++;
+        }
+        for (; i < endIndex; ++i) {
+            frequencies[characters[i]]++;
+        }
+        merge(frequencies, second, third, fourth);
+    }
+
+    /**
+     * Adds the frequencies of the remaining bytes of the given buffer to the
+     * given frequency table. The position of the buffer is not changed.
+     *
+     * @param buffer the bytes to count
+     * @param frequencies the frequency table; it must hold at least 256
+     * entries
+     */
+    public static void count(ByteBuffer buffer, int[] frequencies) {
+        int[] second = new int[256];
+        int[] third = new int[256];
+        int[] fourth = new int[256];
+        int i = buffer.position();
+        int end = buffer.limit();
+        //eight bytes are loaded at once and spread over the four sub-tables
+        for (int limit = end - 7; i < limit; i += 8) {
+            long bytes = buffer.getLong(i);
+            frequencies[(int) bytes & 0xFF]++;
+            second[(int) (bytes >>> 8) & 0xFF]++;
+            third[(int) (bytes >>> 16) & 0xFF]++;
+            fourth[(int) (bytes >>> 24) & 0xFF]++;
+            frequencies[(int) (bytes >>> 32) & 0xFF]++;
+            second[(int) (bytes >>> 40) & 0xFF]++;
+            third[(int) (bytes >>> 48) & 0xFF]++;
+            fourth[(int) (bytes >>> 56) & 0xFF]++;
+        }
+        for (; i < end; ++i) {
+            frequencies[buffer.get(i) & 0xFF]++;
+        }
+        merge(frequencies, second, third, fourth);
+    }
+
+    /**
+     * Adds the frequencies of the byte pairs of the remaining bytes of the
+     * given buffer to the given order-1 frequency table. The count of byte b
+     * following byte a is stored at index (a << 8) | b, and the first byte is
+     * counted as following byte 0. The position of the buffer is not changed.
+     *
+     * @param buffer the bytes to count
+     * @param frequencies the order-1 frequency table; it must hold at least
+     * 65536 entries
+     */
+    public static void countPairs(ByteBuffer buffer, int[] frequencies) {
+        //the pairs are read from the most significant byte down, so the order must be big-endian
+        buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int i = buffer.position();
+        int end = buffer.limit();
+        int previous = 0;
+        //eight bytes are loaded at once; each pair index is the previous byte shifted over the next one
+        for (int limit = end - 7; i < limit; i += 8) {
+            long bytes = buffer.getLong(i);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                int current = (int) (bytes >>> shift) & 0xFF;
+                frequencies[previous << 8 | current]++;
+                previous = current;
+            }
+        }
+        for (; i < end; ++i) {
+            int current = buffer.get(i) & 0xFF;
+            frequencies[previous << 8 | current]++;
+            previous = current;
+        }
+    }
+
+    /**
+     * Counts the bytes of the given file. The file is memory-mapped in chunks
+     * of CHUNK_SIZE bytes which are counted in parallel on the given pool.
+     * The chunks are summed in long counters, so files of any size are counted
+     * exactly; if the counts total more than Integer.MAX_VALUE, they are scaled
+     * down as described in toFrequencies.
+     *
+     * @param file the file to count
+     * @param pool the pool the chunks are counted on
+     * @return the frequency of each byte value
+     * @throws IOException if the file cannot be read
+     */
+    public static int[] count(Path file, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return toFrequencies(count(channel, null, pool));
+        }
+    }
+
+    /**
+     * Counts the bytes of the given channel in chunks of CHUNK_SIZE bytes on
+     * the given pool, keeping the table of every chunk so that the chunks can
+     * be encoded without being counted again
+     *
+     * @param channel the channel to count
+     * @param chunks an array with chunkCount(channel.size()) entries that
+     * receives the frequency table of each chunk, or null
+     * @param pool the pool the chunks are counted on
+     * @return the count of each byte value across the whole channel
+     * @throws IOException if the channel cannot be read
+     */
+    static long[] count(FileChannel channel, int[][] chunks, ForkJoinPool pool) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return new long[256];
+        }
+        try {
+            return pool.invoke(new ChunkTask(channel, chunks, 0, chunkCount(size), size));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Gets the number of chunks of CHUNK_SIZE bytes a file of the given size
+     * is split into
+     *
+     * @param size the size of the file
+     * @return the number of chunks
+     */
+    static int chunkCount(long size) {
+        return (int) ((size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    /**
+     * Converts counts that may exceed the range of an int into a frequency
+     * table for HuffmanEncoder(int[]). If the counts total more than
+     * Integer.MAX_VALUE, every count is divided by the same factor and every
+     * nonzero count is kept at least 1, so no symbol loses its code and the
+     * sum of any subset of the frequencies still fits in an int.
+     *
+     * @param counts the counts to convert
+     * @return the frequency table
+     */
+    public static int[] toFrequencies(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        //rounding up each nonzero count adds at most one per entry
+        long limit = Integer.MAX_VALUE - counts.length;
+        long factor = total <= Integer.MAX_VALUE ? 1 : (total + limit - 1) / limit;
+        int[] frequencies = new int[counts.length];
+        for (int i = 0; i < counts.length; ++i) {
+            if (counts[i] != 0) {
+                frequencies[i] = (int) Math.max(1, counts[i] / factor);
+            }
+        }
+        return frequencies;
+    }
+
+    /*
+     * Adds the sub-tables into the first table
+     */
+    private static void merge(int[] frequencies, int[] second, int[] third, int[] fourth) {
+        for (int i = 0; i < second.length; ++i) {
+            frequencies[i] += second[i] + third[i] + fourth[i];
+        }
+    }
+
+    /*
+     * Counts a range of chunks of a file, splitting the range in half until one chunk remains
+     */
+    private static class ChunkTask extends RecursiveTask<long[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final int[][] chunks;
+        private final int first;
+        private final int last;
+        private final long size;
+
+        private ChunkTask(FileChannel channel, int[][] chunks, int first, int last, long size) {
+            this.channel = channel;
+            this.chunks = chunks;
+            this.first = first;
+            this.last = last;
+            this.size = size;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (last - first > 1) {
+                int middle = (first + last) >>> 1;
+                ChunkTask right = new ChunkTask(channel, chunks, middle, last, size);
+                right.fork();
+                long[] counts = new ChunkTask(channel, chunks, first, middle, size).compute();
+                long[] other = right.join();
+                for (int i = 0; i < counts.length; ++i) {
+                    counts[i] += other[i];
+                }
+                return counts;
+            }
+            long position = (long) first * CHUNK_SIZE;
+            //a chunk of CHUNK_SIZE bytes cannot overflow an int counter
+            int[] frequencies = new int[256];
+            try {
+                count(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHUNK_SIZE, size - position)), frequencies);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            if (chunks != null) {
+                chunks[first] = frequencies;
+            }
+            long[] counts = new long[256];
+            for (int i = 0; i < counts.length; ++i) {
+                counts[i] = frequencies[i];
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Adapts HuffmanOutputStream and HuffmanInputStream to NIO channels.<p>
+ * The encoding channel copies the bytes of each buffer it is given straight
+ * into the direct block buffer of its stream, and the decoding channel copies
+ * decoded blocks straight into the caller's buffer, so neither goes through an
+ * intermediate array. Both work in bounded-memory blocks like the streams
+ * they wrap.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class HuffmanChannels {
+
+    private HuffmanChannels() {
+    }
+
+    /**
+     * Creates a channel that encodes the bytes written to it and writes the
+     * encoded stream to the given channel. Closing the returned channel ends
+     * the stream and closes the given channel.
+     *
+     * @param channel the channel the encoded stream is written to
+     * @return the encoding channel
+     */
+    public static WritableByteChannel newEncoder(WritableByteChannel channel) {
+        return newEncoder(channel, HuffmanOutputStream.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a channel that encodes the bytes written to it in blocks of the
+     * given size and writes the encoded stream to the given channel
+     *
+     * @param channel the channel the encoded stream is written to
+     * @param blockSize the maximum number of bytes in each block
+     * @return the encoding channel
+     */
+    public static WritableByteChannel newEncoder(WritableByteChannel channel, int blockSize) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Cannot encode to a null channel");
+        }
+        return new EncodingChannel(new HuffmanOutputStream(Channels.newOutputStream(channel), blockSize));
+    }
+
+    /**
+     * Creates a channel that decodes the encoded stream read from the given
+     * channel. Closing the returned channel closes the given channel.
+     *
+     * @param channel the channel the encoded stream is read from
+     * @return the decoding channel
+     */
+    public static ReadableByteChannel newDecoder(ReadableByteChannel channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Cannot decode from a null channel");
+        }
+        return new DecodingChannel(new HuffmanInputStream(Channels.newInputStream(channel)));
+    }
+
+    /*
+     * A WritableByteChannel over a HuffmanOutputStream
+     */
+    private static class EncodingChannel implements WritableByteChannel {
+
+        private final HuffmanOutputStream out;
+        private boolean open;
+
+        private EncodingChannel(HuffmanOutputStream out) {
+            this.out = out;
+            this.open = true;
+        }
+
+        @Override
+        public int write(ByteBuffer bytes) throws IOException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+            return out.write(bytes);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (open) {
+                open = false;
+                out.close();
+            }
+        }
+    }
+
+    /*
+     * A ReadableByteChannel over a HuffmanInputStream
+     */
+    private static class DecodingChannel implements ReadableByteChannel {
+
+        private final HuffmanInputStream in;
+        private boolean open;
+
+        private DecodingChannel(HuffmanInputStream in) {
+            this.in = in;
+            this.open = true;
+        }
+
+        @Override
+        public int read(ByteBuffer bytes) throws IOException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+            return in.read(bytes);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (open) {
+                open = false;
+                in.close();
+            }
+        }
+    }
+}
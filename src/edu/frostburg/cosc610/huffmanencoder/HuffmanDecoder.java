@@ -0,0 +1,376 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A table-driven Huffman Decoder for streams produced by a HuffmanEncoder.<p>
+ * The decoder is built from the canonical code lengths of a Codebook, which
+ * are stored in the header of every encoded stream. The codes are first
+ * arranged in a flat binary trie. A lookup table indexed by the next
+ * TABLE_BITS bits of input then resolves every code of up to TABLE_BITS bits
+ * with a single probe. Longer codes use the table to skip their first
+ * TABLE_BITS bits and finish with a short walk of the trie.<p>
+ * The trie and table are filled in by the constructor and never change, so a
+ * decoder may be shared by any number of threads, each reading its own
+ * BitInputStream, without locking.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class HuffmanDecoder {
+
+    /**
+     * The maximum number of bits resolved by a single table probe
+     */
+    public static final int TABLE_BITS = 11;
+
+    private static final int INVALID = -1;
+
+    private final int[] zero;
+    private final int[] one;
+    private final int[] table;
+    private final int tableBits;
+
+    /**
+     * Creates a new HuffmanDecoder for the codes of the given codebook
+     *
+     * @param codebook the codebook used to encode the data
+     */
+    public HuffmanDecoder(Codebook codebook) {
+        this(codebook, null);
+    }
+
+    /**
+     * Creates a new HuffmanDecoder for the codes of the given codebook that
+     * takes over the arrays of the given decoder where they are large enough.
+     * A stream that decodes one block after another with a codebook for each
+     * then builds its decoders without allocating. The recycled decoder must
+     * not be used afterwards.
+     *
+     * @param codebook the codebook used to encode the data
+     * @param recycled the decoder of the previous block, or null
+     */
+    HuffmanDecoder(Codebook codebook, HuffmanDecoder recycled) {
+        if (codebook == null) {
+            throw new IllegalArgumentException("Cannot create a decoder from a null codebook");
+        }
+        int[] symbols = codebook.getSymbols();
+        int nodes = 1;
+        for (int symbol : symbols) {
+            nodes += codebook.getLength(symbol);
+        }
+        //the trie is stored as two child arrays; a negative child is a leaf holding ~symbol and 0 is a missing child
+        if (recycled != null && recycled.zero.length >= nodes) {
+            zero = recycled.zero;
+            one = recycled.one;
+            Arrays.fill(zero, 0, nodes, 0);
+            Arrays.fill(one, 0, nodes, 0);
+        } else {
+            zero = new int[nodes];
+            one = new int[nodes];
+        }
+        tableBits = Math.min(codebook.getMaxLength(), TABLE_BITS);
+        //only the first 1 << tableBits entries of a recycled table are used
+        table = recycled != null && recycled.table.length >= 1 << tableBits ? recycled.table : new int[1 << tableBits];
+        build(codebook, symbols);
+    }
+
+    /**
+     * Creates a new HuffmanDecoder for the codes used by the given encoder
+     *
+     * @param encoder the encoder used to encode the data
+     */
+    public HuffmanDecoder(HuffmanEncoder encoder) {
+        this(encoder.getCodebook());
+    }
+
+    /**
+     * Decodes a single character from the given stream
+     *
+     * @param in the stream to decode from
+     * @return the decoded character
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * code
+     */
+    public char decode(BitInputStream in) throws IOException {
+        return (char) decodeSymbol(in);
+    }
+
+    /**
+     * Decodes a single symbol from the given stream. Unlike decode, symbols
+     * above the range of char are returned intact.
+     *
+     * @param in the stream to decode from
+     * @return the decoded symbol
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * code
+     */
+    public int decodeSymbol(BitInputStream in) throws IOException {
+        int entry = table[in.peek(tableBits)];
+        if (entry >= 0) {
+            in.skip(entry & 0xFF);
+            return entry >>> 8;
+        }
+        if (entry == INVALID) {
+            throw new IOException("The bit stream contains an invalid code.");
+        }
+        in.skip(tableBits);
+        int node = -entry - 2;
+        while (true) {
+            node = in.readBit() == 0 ? zero[node] : one[node];
+            if (node < 0) {
+                return ~node;
+            }
+            if (node == 0) {
+                throw new IOException("The bit stream contains an invalid code.");
+            }
+        }
+    }
+
+    /**
+     * Decodes the given number of characters from the given stream into the
+     * given array
+     *
+     * @param in the stream to decode from
+     * @param characters the array the decoded characters are stored in
+     * @param count the number of characters to decode
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * code
+     */
+    public void decode(BitInputStream in, char[] characters, int count) throws IOException {
+        if (characters == null) {
+            throw new IllegalArgumentException("Cannot decode into a null array");
+        }
+        for (int i = 0; i < count; ++i) {
+            characters[i] = decode(in);
+        }
+    }
+
+    /**
+     * Decodes the given number of byte symbols from the given stream into the
+     * given array
+     *
+     * @param in the stream to decode from
+     * @param bytes the array the decoded bytes are stored in
+     * @param count the number of bytes to decode
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * code
+     */
+    public void decode(BitInputStream in, byte[] bytes, int count) throws IOException {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Cannot decode into a null array");
+        }
+        for (int i = 0; i < count; ++i) {
+            bytes[i] = (byte) decode(in);
+        }
+    }
+
+    /**
+     * Decodes the given number of characters from the STREAMS interleaved
+     * payloads written by HuffmanEncoder.encode(char[], int, int,
+     * BitOutputStream[]).<p>
+     * The payloads are decoded in one loop that keeps the bit position of
+     * each in a local variable and reads the next 64 bits of each with a
+     * single load, so the four positions form independent dependency chains
+     * that the processor can overlap. The last few bytes of every payload are
+     * decoded through a BitInputStream.
+     *
+     * @param payloads the STREAMS payloads to decode from
+     * @param characters the array the decoded characters are stored in
+     * @param count the number of characters to decode
+     * @throws IOException if a payload contains an invalid code or ends
+     * before its segment is decoded
+     */
+    public void decode(byte[][] payloads, char[] characters, int count) throws IOException {
+        if (characters == null) {
+            throw new IllegalArgumentException("Cannot decode into a null array");
+        }
+        decodeInterleaved(payloads, characters, null, count);
+    }
+
+    /**
+     * Decodes the given number of byte symbols from the STREAMS interleaved
+     * payloads written by HuffmanEncoder.encode(ByteBuffer, BitOutputStream[])
+     *
+     * @param payloads the STREAMS payloads to decode from
+     * @param bytes the array the decoded bytes are stored in
+     * @param count the number of bytes to decode
+     * @throws IOException if a payload contains an invalid code or ends
+     * before its segment is decoded
+     */
+    public void decode(byte[][] payloads, byte[] bytes, int count) throws IOException {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Cannot decode into a null array");
+        }
+        decodeInterleaved(payloads, null, bytes, count);
+    }
+
+    /*
+     * Decodes interleaved payloads into whichever of the two arrays is not null
+     */
+    private void decodeInterleaved(byte[][] payloads, char[] characters, byte[] bytes, int count) throws IOException {
+        if (payloads == null || payloads.length != HuffmanEncoder.STREAMS) {
+            throw new IllegalArgumentException(String.format("Interleaved coding requires exactly %d streams.", HuffmanEncoder.STREAMS));
+        }
+        int segment = HuffmanEncoder.segmentSize(count);
+        int[] next = new int[HuffmanEncoder.STREAMS];
+        int[] ends = new int[HuffmanEncoder.STREAMS];
+        long[] positions = new long[HuffmanEncoder.STREAMS];
+        for (int k = 0; k < next.length; ++k) {
+            next[k] = (int) Math.min(count, (long) segment * k);
+            ends[k] = (int) Math.min(count, (long) segment * (k + 1));
+        }
+        if (tableBits > 0) {
+            ByteBuffer in0 = ByteBuffer.wrap(payloads[0]);
+            ByteBuffer in1 = ByteBuffer.wrap(payloads[1]);
+            ByteBuffer in2 = ByteBuffer.wrap(payloads[2]);
+            ByteBuffer in3 = ByteBuffer.wrap(payloads[3]);
+            //a window is loaded from the byte holding the position, so 8 bytes must remain there
+            long limit0 = 8L * (payloads[0].length - 8);
+            long limit1 = 8L * (payloads[1].length - 8);
+            long limit2 = 8L * (payloads[2].length - 8);
+            long limit3 = 8L * (payloads[3].length - 8);
+            int shift = 64 - tableBits;
+            int i0 = next[0];
+            int i1 = next[1];
+            int i2 = next[2];
+            int i3 = next[3];
+            int end3 = ends[3];
+            long p0 = 0;
+            long p1 = 0;
+            long p2 = 0;
+            long p3 = 0;
+            //segments never grow longer, so every stream has a symbol left while the last one does
+            while (i3 < end3 && p0 < limit0 && p1 < limit1 && p2 < limit2 && p3 < limit3) {
+                //the window holds at least 57 valid bits, more than the longest code
+                long w0 = in0.getLong((int) (p0 >>> 3)) << (p0 & 7);
+                long w1 = in1.getLong((int) (p1 >>> 3)) << (p1 & 7);
+                long w2 = in2.getLong((int) (p2 >>> 3)) << (p2 & 7);
+                long w3 = in3.getLong((int) (p3 >>> 3)) << (p3 & 7);
+                int e0 = table[(int) (w0 >>> shift)];
+                int e1 = table[(int) (w1 >>> shift)];
+                int e2 = table[(int) (w2 >>> shift)];
+                int e3 = table[(int) (w3 >>> shift)];
+                if ((e0 | e1 | e2 | e3) < 0) {
+                    e0 = resolve(w0, e0);
+                    e1 = resolve(w1, e1);
+                    e2 = resolve(w2, e2);
+                    e3 = resolve(w3, e3);
+                }
+                p0 += e0 & 0xFF;
+                p1 += e1 & 0xFF;
+                p2 += e2 & 0xFF;
+                p3 += e3 & 0xFF;
+                if (characters != null) {
+                    characters[i0++] = (char) (e0 >>> 8);
+                    characters[i1++] = (char) (e1 >>> 8);
+                    characters[i2++] = (char) (e2 >>> 8);
+                    characters[i3++] = (char) (e3 >>> 8);
+                } else {
+                    bytes[i0++] = (byte) (e0 >>> 8);
+                    bytes[i1++] = (byte) (e1 >>> 8);
+                    bytes[i2++] = (byte) (e2 >>> 8);
+                    bytes[i3++] = (byte) (e3 >>> 8);
+                }
+            }
+            next[0] = i0;
+            next[1] = i1;
+            next[2] = i2;
+            next[3] = i3;
+            positions[0] = p0;
+            positions[1] = p1;
+            positions[2] = p2;
+            positions[3] = p3;
+        }
+        for (int k = 0; k < next.length; ++k) {
+            if (next[k] >= ends[k]) {
+                continue;
+            }
+            int offset = (int) (positions[k] >>> 3);
+            BitInputStream in = new BitInputStream(new ByteArrayInputStream(payloads[k], offset, payloads[k].length - offset));
+            in.skip((int) (positions[k] & 7));
+            for (int i = next[k]; i < ends[k]; ++i) {
+                int symbol = decodeSymbol(in);
+                if (characters != null) {
+                    characters[i] = (char) symbol;
+                } else {
+                    bytes[i] = (byte) symbol;
+                }
+            }
+        }
+    }
+
+    /*
+     * Finishes decoding the code at the top of the given window
+     * @param window the next 64 bits of input, of which at least 57 are valid
+     * @param entry the table entry for the window
+     * @return a leaf entry holding the symbol and code length
+     */
+    private int resolve(long window, int entry) throws IOException {
+        if (entry >= 0) {
+            return entry;
+        }
+        if (entry == INVALID) {
+            throw new IOException("The bit stream contains an invalid code.");
+        }
+        int node = -entry - 2;
+        for (int depth = tableBits; depth < 64; ++depth) {
+            node = ((window >>> (63 - depth)) & 1) == 0 ? zero[node] : one[node];
+            if (node < 0) {
+                return (~node << 8) | (depth + 1);
+            }
+            if (node == 0) {
+                break;
+            }
+        }
+        throw new IOException("The bit stream contains an invalid code.");
+    }
+
+    /*
+     * Builds the trie and the lookup table for the codes of the given codebook
+     * @param codebook the codebook
+     * @param symbols the symbols that have a code
+     */
+    private void build(Codebook codebook, int[] symbols) {
+        int size = 1;
+        for (int symbol : symbols) {
+            int length = codebook.getLength(symbol);
+            long code = codebook.getCode(symbol);
+            int node = 0;
+            for (int i = length - 1; i > 0; --i) {
+                int[] children = ((code >>> i) & 1) == 0 ? zero : one;
+                if (children[node] == 0) {
+                    children[node] = size++;
+                }
+                node = children[node];
+            }
+            ((code & 1) == 0 ? zero : one)[node] = ~symbol;
+        }
+        for (int i = 0; i < 1 << tableBits; ++i) {
+            table[i] = lookup(i);
+        }
+    }
+
+    /*
+     * Walks the trie with the bits of the given table index
+     * @param index the table index
+     * @return a leaf entry holding the symbol and code length, a continuation entry holding the trie node, or INVALID
+     */
+    private int lookup(int index) {
+        int node = 0;
+        for (int depth = 1; depth <= tableBits; ++depth) {
+            int bit = (index >>> (tableBits - depth)) & 1;
+            node = bit == 0 ? zero[node] : one[node];
+            if (node < 0) {
+                return (~node << 8) | depth;
+            }
+            if (node == 0) {
+                return INVALID;
+            }
+        }
+        return -node - 2;
+    }
+}
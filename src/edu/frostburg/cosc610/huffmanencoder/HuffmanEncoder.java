@@ -4,20 +4,51 @@ import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * A Huffman Encoder for text files encoded in up to 16-bit Unicode characters.
- * Encoded data is returned as a string of bits rather than a byte stream.
+ * Encoded data is either written as packed bits to a BitOutputStream or
+ * returned as a string of bits for debugging purposes. Codes are canonical, so
+ * a reader only needs the code lengths stored in the Codebook to decode them.
+ * The encode loops look codes up in primitive tables indexed by char, so they
+ * neither box characters nor allocate. The length of the longest code may be
+ * capped, in which case optimal length-limited codes are computed with the
+ * package-merge algorithm whenever the Huffman tree is too deep. The lengths
+ * come from either a linked HuffmanTree or the allocation-free two-queue
+ * builder, as selected by a TreeBuilder. Frequencies are held in a sparse
+ * FrequencyTable, and the used symbols are remapped to a dense alphabet before
+ * the lengths are computed, so building the codes costs time proportional to
+ * the number of distinct symbols rather than the size of the alphabet.<p>
+ * Many short records, such as keys, are best encoded in one call with the
+ * batch encode methods, which pack every record into the reusable buffer of an
+ * EncodedBatch instead of allocating a string or stream per record.<p>
+ * An encoder is immutable once constructed: it copies the frequency table it
+ * is given and every field is final. One encoder may therefore be shared by
+ * any number of threads, each writing to its own BitOutputStream, without
+ * locking.
  *
  * @author Kerwin Yoder
  * @version 2016.05.01
  */
 public class HuffmanEncoder {
 
-    HuffmanTree<Character> tree;
-    Map<Character, String> codes;
-    int[] frequencies;
+    /**
+     * The number of streams written by the interleaved encode methods
+     */
+    public static final int STREAMS = 4;
+
+    private final HuffmanTree<Character> tree;
+    private final Codebook codebook;
+    private final long[][] codePages;
+    private final byte[][] lengthPages;
+    private final FrequencyTable frequencies;
 
     /**
      * Creates a new HuffmanEncoder using the given frequencies table. The
@@ -27,9 +58,86 @@ public class HuffmanEncoder {
      * @param frequencies the frequencies table
      */
     public HuffmanEncoder(int[] frequencies) {
-        this.frequencies = frequencies;
-        initializeTree();
-        codes = tree.getMap();
+        this(frequencies, Codebook.MAX_LENGTH);
+    }
+
+    /**
+     * Creates a new HuffmanEncoder using the given frequencies table whose
+     * codes are no longer than the given maximum length. The frequency for each
+     * Unicode character is assumed to be stored at the index of the
+     * character's Unicode code value.
+     *
+     * @param frequencies the frequencies table
+     * @param maxCodeLength the maximum code length in bits; between 1 and
+     * Codebook.MAX_LENGTH
+     */
+    public HuffmanEncoder(int[] frequencies, int maxCodeLength) {
+        this(frequencies, maxCodeLength, TreeBuilder.HEAP);
+    }
+
+    /**
+     * Creates a new HuffmanEncoder using the given frequencies table whose
+     * codes are no longer than the given maximum length and are derived with
+     * the given TreeBuilder. With TreeBuilder.TWO_QUEUE no HuffmanTree is
+     * built.
+     *
+     * @param frequencies the frequencies table
+     * @param maxCodeLength the maximum code length in bits; between 1 and
+     * Codebook.MAX_LENGTH
+     * @param treeBuilder the algorithm used to derive the code lengths
+     */
+    public HuffmanEncoder(int[] frequencies, int maxCodeLength, TreeBuilder treeBuilder) {
+        this(FrequencyTable.of(frequencies), maxCodeLength, treeBuilder);
+    }
+
+    /**
+     * Creates a new HuffmanEncoder using the given sparse frequency table
+     * whose codes are no longer than the given maximum length and are derived
+     * with the given TreeBuilder. TreeBuilder.HEAP only supports symbols up to
+     * 65535.
+     *
+     * @param frequencies the frequency table; it is copied
+     * @param maxCodeLength the maximum code length in bits; between 1 and
+     * Codebook.MAX_LENGTH
+     * @param treeBuilder the algorithm used to derive the code lengths
+     */
+    public HuffmanEncoder(FrequencyTable frequencies, int maxCodeLength, TreeBuilder treeBuilder) {
+        if (treeBuilder == null) {
+            throw new IllegalArgumentException("Cannot build codes without a TreeBuilder");
+        }
+        if (maxCodeLength < 1 || maxCodeLength > Codebook.MAX_LENGTH) {
+            throw new IllegalArgumentException(String.format("%d is an invalid maximum code length. The maximum is %d.", maxCodeLength, Codebook.MAX_LENGTH));
+        }
+        if (frequencies == null) {
+            throw new IllegalArgumentException("Cannot build codes from a null frequency table");
+        }
+        if (treeBuilder == TreeBuilder.HEAP && frequencies.getAlphabetSize() > 65536) {
+            throw new IllegalArgumentException("The HEAP builder only supports 16-bit Unicode characters.");
+        }
+        this.frequencies = new FrequencyTable(frequencies);
+        this.tree = treeBuilder == TreeBuilder.HEAP ? buildTree(this.frequencies) : null;
+        this.codebook = buildCodebook(this.frequencies, tree, maxCodeLength);
+        this.codePages = codebook.codes;
+        this.lengthPages = codebook.lengths;
+    }
+
+    /**
+     * Creates a new HuffmanEncoder that uses the codes of the given codebook.
+     * No tree is built, so this is the cheap way to restore an encoder from a
+     * stored codebook. The encoder has no frequency table, so its statistics
+     * are unavailable.
+     *
+     * @param codebook the codebook whose codes are used
+     */
+    public HuffmanEncoder(Codebook codebook) {
+        if (codebook == null) {
+            throw new IllegalArgumentException("Cannot create an encoder from a null codebook");
+        }
+        this.tree = null;
+        this.frequencies = null;
+        this.codebook = codebook;
+        this.codePages = codebook.codes;
+        this.lengthPages = codebook.lengths;
     }
 
     /**
@@ -39,10 +147,54 @@ public class HuffmanEncoder {
      * @param filename the name of the file used for frequency analysis
      */
     public HuffmanEncoder(String filename) {
-        frequencies = new int[256];
-        analyzeFrequencies(filename);
-        initializeTree();
-        codes = tree.getMap();
+        this(analyzeFrequencies(filename), Codebook.MAX_LENGTH, TreeBuilder.HEAP);
+    }
+
+    /**
+     * Gets the canonical codebook used by this encoder
+     *
+     * @return the codebook used by this encoder
+     */
+    public Codebook getCodebook() {
+        return codebook;
+    }
+
+    /*
+     * Gets the linked tree the codes were derived from
+     * @return the tree, or null if the encoder was not built with TreeBuilder.HEAP
+     */
+    HuffmanTree<Character> getTree() {
+        return tree;
+    }
+
+    /**
+     * Gets a map containing the characters and their codes. The map is built
+     * on every call; prefer the primitive lookups of getCodebook().
+     *
+     * @return a map containing the characters as keys and their associated
+     * codes as values
+     * @throws IllegalStateException if a symbol with a code is above the
+     * range of char
+     */
+    public Map<Character, String> getMap() {
+        Map<Character, String> map = new HashMap<>();
+        for (int symbol : codebook.getSymbols()) {
+            if (symbol > Character.MAX_VALUE) {
+                throw new IllegalStateException(String.format("The symbol %d is not a char. Use getCodebook() to look up its code.", symbol));
+            }
+            map.put((char) symbol, codebook.getCodeString(symbol));
+        }
+        return map;
+    }
+
+    /**
+     * Gets the number of characters counted in the frequency table
+     *
+     * @return the sum of all frequencies, or 0 if the encoder was created
+     * from a codebook
+     */
+    public long getSymbolCount() {
+        return frequencies == null ? 0 : frequencies.getTotal();
     }
 
     /**
@@ -83,11 +235,271 @@ public class HuffmanEncoder {
         }
         StringBuilder builder = new StringBuilder();
         for (int i = 0; i < endIndex; ++i) {
-            builder.append(codes.get(characters[i]));
+            builder.append(codebook.getCodeString(checkedSymbol(characters[i])));
         }
         return builder.toString();
     }
 
+    /**
+     * Encodes the first chars of the given char[] up to the given endIndex and
+     * writes the packed codes to the given BitOutputStream
+     *
+     * @param characters the array of chars to encode
+     * @param endIndex the ending index (exclusive) of chars that will be
+     * encoded
+     * @param out the stream the codes are written to
+     * @throws IOException if the codes cannot be written
+     */
+    public void encode(char[] characters, int endIndex, BitOutputStream out) throws IOException {
+        encode(characters, 0, endIndex, out);
+    }
+
+    /**
+     * Encodes the chars of the given char[] from the given beginIndex up to the
+     * given endIndex and writes the packed codes to the given BitOutputStream
+     *
+     * @param characters the array of chars to encode
+     * @param beginIndex the index of the first char that will be encoded
+     * @param endIndex the ending index (exclusive) of chars that will be
+     * encoded
+     * @param out the stream the codes are written to
+     * @throws IOException if the codes cannot be written
+     */
+    public void encode(char[] characters, int beginIndex, int endIndex, BitOutputStream out) throws IOException {
+        if (characters == null) {
+            throw new IllegalArgumentException("Cannot encode a null array");
+        }
+        long[][] codePages = this.codePages;
+        byte[][] lengthPages = this.lengthPages;
+        for (int i = beginIndex; i < endIndex; ++i) {
+            char c = characters[i];
+            int page = c >>> Codebook.PAGE_BITS;
+            int length = page < lengthPages.length ? lengthPages[page][c & (Codebook.PAGE_SIZE - 1)] : 0;
+            if (length == 0) {
+                checkedSymbol(c);
+            }
+            out.write(codePages[page][c & (Codebook.PAGE_SIZE - 1)], length);
+        }
+    }
+
+    /**
+     * Encodes many records held in one char[] and appends them to the given
+     * batch. Record i is made up of the chars from offsets[i] up to
+     * offsets[i + 1], so count records need count + 1 offsets. Each record
+     * starts on a byte boundary of the batch's buffer and is padded with zero
+     * bits to the next one. The bits of a record do not mark its end: the
+     * padding decodes as repeats of the all-zero shortest code, so callers
+     * must store the char count of each record to decode it. If a record
+     * cannot be encoded, the records before it remain in the batch.
+     *
+     * @param characters the chars of all records
+     * @param offsets the index of the first char of each record, followed by
+     * the end of the last record
+     * @param count the number of records
+     * @param batch the batch the encoded records are appended to
+     */
+    public void encode(char[] characters, int[] offsets, int count, EncodedBatch batch) {
+        if (characters == null || offsets == null) {
+            throw new IllegalArgumentException("Cannot encode a null array");
+        }
+        checkBatch(offsets.length, count, batch);
+        encodeRecords(characters, offsets, null, count, batch);
+    }
+
+    /**
+     * Encodes each of the given records and appends them to the given batch.
+     * The chars are read in place with charAt, so no record is copied. Each
+     * record starts on a byte boundary of the batch's buffer and is padded
+     * with zero bits to the next one. The bits of a record do not mark its
+     * end: the padding decodes as repeats of the all-zero shortest code, so
+     * callers must store the length of each record to decode it. If a record
+     * cannot be encoded, the records before it remain in the batch.
+     *
+     * @param records the records to encode
+     * @param batch the batch the encoded records are appended to
+     */
+    public void encode(List<? extends CharSequence> records, EncodedBatch batch) {
+        if (records == null) {
+            throw new IllegalArgumentException("Cannot encode a null list");
+        }
+        int count = records.size();
+        checkBatch(count + 1, count, batch);
+        encodeRecords(null, null, records, count, batch);
+    }
+
+    /**
+     * Encodes the chars of the given char[] from the given beginIndex up to
+     * the given endIndex into STREAMS interleaved streams. The range is split
+     * into consecutive segments of (n + 3) / 4 chars, the last segment taking
+     * what remains, and segment k is written to streams[k]. All segments are
+     * encoded in one loop, so the bit positions of the streams form
+     * independent dependency chains that the processor can overlap.
+     *
+     * @param characters the array of chars to encode
+     * @param beginIndex the index of the first char that will be encoded
+     * @param endIndex the ending index (exclusive) of chars that will be
+     * encoded
+     * @param streams the STREAMS streams the segments are written to
+     * @throws IOException if the codes cannot be written
+     */
+    public void encode(char[] characters, int beginIndex, int endIndex, BitOutputStream[] streams) throws IOException {
+        if (characters == null) {
+            throw new IllegalArgumentException("Cannot encode a null array");
+        }
+        checkStreams(streams);
+        int segment = segmentSize(endIndex - beginIndex);
+        int i0 = beginIndex;
+        int i1 = Math.min(endIndex, i0 + segment);
+        int i2 = Math.min(endIndex, i1 + segment);
+        int i3 = Math.min(endIndex, i2 + segment);
+        int end0 = i1;
+        int end1 = i2;
+        int end2 = i3;
+        BitOutputStream out0 = streams[0];
+        BitOutputStream out1 = streams[1];
+        BitOutputStream out2 = streams[2];
+        BitOutputStream out3 = streams[3];
+        //segments never grow longer, so every stream has a symbol left while the last one does
+        while (i3 < endIndex) {
+            write(characters[i0++], out0);
+            write(characters[i1++], out1);
+            write(characters[i2++], out2);
+            write(characters[i3++], out3);
+        }
+        while (i0 < end0) {
+            write(characters[i0++], out0);
+            if (i1 < end1) {
+                write(characters[i1++], out1);
+            }
+            if (i2 < end2) {
+                write(characters[i2++], out2);
+            }
+        }
+    }
+
+    /**
+     * Encodes the code points of the chars of the given char[] from the given
+     * beginIndex up to the given endIndex and writes the packed codes to the
+     * given BitOutputStream. A surrogate pair is encoded as the supplementary
+     * code point it represents; unpaired surrogates are encoded as themselves.
+     *
+     * @param characters the array of chars to encode
+     * @param beginIndex the index of the first char that will be encoded
+     * @param endIndex the ending index (exclusive) of chars that will be
+     * encoded
+     * @param out the stream the codes are written to
+     * @return the number of code points encoded
+     * @throws IOException if the codes cannot be written
+     */
+    public int encodeCodePoints(char[] characters, int beginIndex, int endIndex, BitOutputStream out) throws IOException {
+        if (characters == null) {
+            throw new IllegalArgumentException("Cannot encode a null array");
+        }
+        long[][] codePages = this.codePages;
+        byte[][] lengthPages = this.lengthPages;
+        int count = 0;
+        int i = beginIndex;
+        while (i < endIndex) {
+            int codePoint = Character.codePointAt(characters, i, endIndex);
+            i += Character.charCount(codePoint);
+            int page = codePoint >>> Codebook.PAGE_BITS;
+            int length = page < lengthPages.length ? lengthPages[page][codePoint & (Codebook.PAGE_SIZE - 1)] : 0;
+            if (length == 0) {
+                checkedSymbol(codePoint);
+            }
+            out.write(codePages[page][codePoint & (Codebook.PAGE_SIZE - 1)], length);
+            ++count;
+        }
+        return count;
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer as symbols 0 to 255 and
+     * writes the packed codes to the given BitOutputStream. The bytes are read
+     * in place, so a MappedByteBuffer is encoded without copying. The position
+     * of the buffer is advanced to its limit.
+     *
+     * @param bytes the bytes to encode
+     * @param out the stream the codes are written to
+     * @throws IOException if the codes cannot be written
+     */
+    public void encode(ByteBuffer bytes, BitOutputStream out) throws IOException {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Cannot encode a null buffer");
+        }
+        //every byte falls in the first page, which always exists
+        long[] codeTable = codePages[0];
+        byte[] lengthTable = lengthPages[0];
+        int end = bytes.limit();
+        for (int i = bytes.position(); i < end; ++i) {
+            int b = bytes.get(i) & 0xFF;
+            int length = lengthTable[b];
+            if (length == 0) {
+                checkedSymbol(b);
+            }
+            out.write(codeTable[b], length);
+        }
+        //through Buffer, since the ByteBuffer override of position(int) does not exist before Java 9
+        ((Buffer) bytes).position(end);
+    }
+
+    /**
+     * Encodes the remaining bytes of the given buffer as symbols 0 to 255 into
+     * STREAMS interleaved streams, split into segments as by encode(char[],
+     * int, int, BitOutputStream[]). The position of the buffer is advanced to
+     * its limit.
+     *
+     * @param bytes the bytes to encode
+     * @param streams the STREAMS streams the segments are written to
+     * @throws IOException if the codes cannot be written
+     */
+    public void encode(ByteBuffer bytes, BitOutputStream[] streams) throws IOException {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Cannot encode a null buffer");
+        }
+        checkStreams(streams);
+        int end = bytes.limit();
+        int segment = segmentSize(end - bytes.position());
+        int i0 = bytes.position();
+        int i1 = Math.min(end, i0 + segment);
+        int i2 = Math.min(end, i1 + segment);
+        int i3 = Math.min(end, i2 + segment);
+        int end0 = i1;
+        int end1 = i2;
+        int end2 = i3;
+        BitOutputStream out0 = streams[0];
+        BitOutputStream out1 = streams[1];
+        BitOutputStream out2 = streams[2];
+        BitOutputStream out3 = streams[3];
+        while (i3 < end) {
+            write(bytes.get(i0++) & 0xFF, out0);
+            write(bytes.get(i1++) & 0xFF, out1);
+            write(bytes.get(i2++) & 0xFF, out2);
+            write(bytes.get(i3++) & 0xFF, out3);
+        }
+        while (i0 < end0) {
+            write(bytes.get(i0++) & 0xFF, out0);
+            if (i1 < end1) {
+                write(bytes.get(i1++) & 0xFF, out1);
+            }
+            if (i2 < end2) {
+                write(bytes.get(i2++) & 0xFF, out2);
+            }
+        }
+        ((Buffer) bytes).position(end);
+    }
+
+    /**
+     * Gets the number of symbols in each segment but the last when the given
+     * number of symbols is split over STREAMS streams
+     *
+     * @param count the number of symbols
+     * @return the number of symbols in a full segment
+     */
+    public static int segmentSize(int count) {
+        return (int) (((long) count + STREAMS - 1) / STREAMS);
+    }
+
     /**
      * Gets a string representation of the frequency table
      *
@@ -101,42 +513,33 @@ public class HuffmanEncoder {
         //use string literals to force correct widths for alignment purposes
         builder.append(String.format("Statistics%n%n%5s%7s%16s%17s%n", "Unicode", "Char", "Code", "Frequency"));
         int frequency;
-        int length = frequencies.length;
-        for (int i = 0; i < length; ++i) {
-            frequency = frequencies[i];
-            if (frequency != 0) {
-                //do not print the horizontal tab, new line (LF) and vertical tab characters since they distort the output string
-                if (i == 9 || i == 10 || i == 13) {
-                    builder.append(String.format("%5d%27s%13d%n", i, codes.get((char) i), frequency));
-                } else {
-                    builder.append(String.format("%5d%7c%20s%13d%n", i, (char) i, codes.get((char) i), frequency));
-                }
+        //only the used symbols are visited
+        for (int i : frequencies.getSymbols()) {
+            frequency = frequencies.get(i);
+            //do not print the horizontal tab, new line (LF) and vertical tab characters since they distort the output string
+            if (i == 9 || i == 10 || i == 13) {
+                builder.append(String.format("%5d%27s%13d%n", i, codebook.getCodeString(i), frequency));
+            } else {
+                builder.append(String.format("%5d%7c%20s%13d%n", i, (char) i, codebook.getCodeString(i), frequency));
             }
         }
         return builder.toString();
     }
 
     /*
-     * Analyzes the frequencies of characters in the file with the given filename. Only 16-bit Unicode characters are allowed
+     * Analyzes the frequencies of characters in the file with the given filename
      * @param filename the filename of the file to be analyzed
+     * @return the frequency table
      */
-    private void analyzeFrequencies(String filename) {
+    private static FrequencyTable analyzeFrequencies(String filename) {
+        FrequencyTable frequencies = new FrequencyTable();
         try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
             char[] buffer = new char[1024];
             int bytesRead;
-            int index;
             bytesRead = reader.read(buffer);
             while (bytesRead != -1) {
                 for (int i = 0; i < bytesRead; ++i) {
-                    index = (int) buffer[i];
-                    if(index > 255) {
-                        expand();
-                    }
-                    else if (index > 65535) {
-                        System.out.printf("The file %s contains characters not in the 16-bit Unicode character set.", filename);
-                        System.exit(1);
-                    }
-                    frequencies[(int) buffer[i]]++;
+                    frequencies.add(buffer[i]);
                 }
                 bytesRead = reader.read(buffer);
             }
@@ -146,44 +549,203 @@ public class HuffmanEncoder {
         } catch (IOException ex) {
             System.out.println(ex.getMessage());
         }
+        return frequencies;
     }
 
     /*
-     * Initializes the tree based on the frequency table
+     * Builds the tree based on the given frequency table
+     * @param frequencies the frequency table
+     * @return the tree, or null if the table is empty
      */
-    private void initializeTree() {
-        if (frequencies == null) {
-            throw new IllegalStateException("Attempted to initialize the tree before the frequency table was initialized.");
+    private static HuffmanTree<Character> buildTree(FrequencyTable frequencies) {
+        int[] symbols = frequencies.getSymbols();
+        if (symbols.length == 0) {
+            return null;
         }
-        PriorityQueue<HuffmanTree<Character>> queue = new PriorityQueue<>(100);
-        int length = frequencies.length;
-        int frequency;
-        //add all of the characters with frequencies greater than zero to the queue
-        for (int i = 0; i < length; ++i) {
-            frequency = frequencies[i];
-            if (frequency != 0) {
-                queue.insert(new HuffmanTree<>((char) i, frequency), frequency);
-            }
+        int[] priorities = frequencies.getFrequencies(symbols);
+        List<HuffmanTree<Character>> trees = new ArrayList<>(symbols.length);
+        for (int i = 0; i < symbols.length; ++i) {
+            trees.add(new HuffmanTree<>((char) symbols[i], priorities[i]));
         }
-        HuffmanTree<Character> left;
-        HuffmanTree<Character> right;
+        //the queue holds indices into trees; a 4-ary heap needs half the levels per removal
+        IntHeap queue = IntHeap.heapify(priorities, symbols.length, IntHeap.QUATERNARY);
         while (queue.size() != 1) {
-            left = queue.remove();
-            right = queue.remove();
-            HuffmanTree<Character> newTree = new HuffmanTree(left, right);
-            queue.insert(newTree, newTree.getPriority());
+            HuffmanTree<Character> left = trees.get(queue.remove());
+            int right = queue.remove();
+            HuffmanTree<Character> newTree = new HuffmanTree<>(left, trees.get(right));
+            //the merged tree takes over the index of its right subtree
+            trees.set(right, newTree);
+            queue.insert(right, newTree.getPriority());
+        }
+        return trees.get(queue.remove());
+    }
+
+    /*
+     * Builds the canonical codes from the code lengths of the given tree, or from the two-queue builder if there is no tree
+     * @param frequencies the frequency table
+     * @param tree the tree built from the frequency table, or null
+     * @param maxCodeLength the maximum code length in bits
+     * @return the codebook
+     */
+    private static Codebook buildCodebook(FrequencyTable frequencies, HuffmanTree<Character> tree, int maxCodeLength) {
+        //remap the used symbols to 0 to n - 1 so the builders never see the unused ones
+        int[] symbols = frequencies.getSymbols();
+        int[] dense = frequencies.getFrequencies(symbols);
+        int[] denseLengths;
+        if (tree != null) {
+            denseLengths = new int[symbols.length];
+            for (Map.Entry<Character, Integer> pair : tree.getCodeLengths().entrySet()) {
+                //a lone character still needs a one bit code
+                denseLengths[Arrays.binarySearch(symbols, pair.getKey())] = Math.max(1, pair.getValue());
+            }
+        } else {
+            denseLengths = TwoQueueBuilder.lengths(dense);
+        }
+        int maxLength = 0;
+        for (int length : denseLengths) {
+            maxLength = Math.max(maxLength, length);
+        }
+        if (maxLength > maxCodeLength) {
+            denseLengths = PackageMerge.lengths(dense, maxCodeLength);
+        }
+        return new Codebook(symbols, denseLengths);
+    }
+
+    /*
+     * Writes the code of the given symbol to the given stream
+     */
+    private void write(int symbol, BitOutputStream out) throws IOException {
+        int page = symbol >>> Codebook.PAGE_BITS;
+        int length = page < lengthPages.length ? lengthPages[page][symbol & (Codebook.PAGE_SIZE - 1)] : 0;
+        if (length == 0) {
+            checkedSymbol(symbol);
+        }
+        out.write(codePages[page][symbol & (Codebook.PAGE_SIZE - 1)], length);
+    }
+
+    /*
+     * Encodes the given number of records into the batch, each starting on a byte boundary
+     * @param characters the chars of all records, or null to take the records from the list
+     * @param offsets the index of the first char of each record in characters, followed by the end of the last record
+     * @param records the records to encode when characters is null
+     */
+    private void encodeRecords(char[] characters, int[] offsets, List<? extends CharSequence> records, int count, EncodedBatch batch) {
+        int maxLength = codebook.getMaxLength();
+        int position = batch.getByteCount();
+        for (int record = 0; record < count; ++record) {
+            CharSequence chars = null;
+            int begin = 0;
+            int end;
+            if (characters != null) {
+                begin = offsets[record];
+                end = offsets[record + 1];
+                if (begin < 0 || begin > end || end > characters.length) {
+                    throw new IllegalArgumentException(String.format("Record %d spans the invalid indices %d to %d.", record, begin, end));
+                }
+            } else {
+                chars = records.get(record);
+                if (chars == null) {
+                    throw new IllegalArgumentException(String.format("Record %d is null.", record));
+                }
+                end = chars.length();
+            }
+            //no code is longer than maxLength, so the record cannot outgrow this
+            byte[] buffer = batch.reserveBytes(position + (((long) (end - begin) * maxLength + 7) >>> 3));
+            position = chars == null ? encodeRecord(characters, begin, end, buffer, position) : encodeRecord(chars, buffer, position);
+            batch.addRecord(position);
+        }
+    }
+
+    /*
+     * Packs the codes of the chars from begin up to end into the buffer at the given position, padding the last byte with zero bits
+     * @return the position after the record
+     */
+    private int encodeRecord(char[] characters, int begin, int end, byte[] buffer, int position) {
+        long[][] codePages = this.codePages;
+        byte[][] lengthPages = this.lengthPages;
+        long accumulator = 0;
+        int pending = 0;
+        for (int i = begin; i < end; ++i) {
+            char c = characters[i];
+            int page = c >>> Codebook.PAGE_BITS;
+            int length = page < lengthPages.length ? lengthPages[page][c & (Codebook.PAGE_SIZE - 1)] : 0;
+            if (length == 0) {
+                checkedSymbol(c);
+            }
+            accumulator = accumulator << length | codePages[page][c & (Codebook.PAGE_SIZE - 1)];
+            pending += length;
+            while (pending >= 8) {
+                pending -= 8;
+                buffer[position++] = (byte) (accumulator >>> pending);
+            }
+        }
+        if (pending != 0) {
+            buffer[position++] = (byte) (accumulator << 8 - pending);
+        }
+        return position;
+    }
+
+    /*
+     * Packs the codes of the given chars into the buffer at the given position, padding the last byte with zero bits
+     * @return the position after the record
+     */
+    private int encodeRecord(CharSequence chars, byte[] buffer, int position) {
+        long[][] codePages = this.codePages;
+        byte[][] lengthPages = this.lengthPages;
+        long accumulator = 0;
+        int pending = 0;
+        for (int i = 0, end = chars.length(); i < end; ++i) {
+            char c = chars.charAt(i);
+            int page = c >>> Codebook.PAGE_BITS;
+            int length = page < lengthPages.length ? lengthPages[page][c & (Codebook.PAGE_SIZE - 1)] : 0;
+            if (length == 0) {
+                checkedSymbol(c);
+            }
+            accumulator = accumulator << length | codePages[page][c & (Codebook.PAGE_SIZE - 1)];
+            pending += length;
+            while (pending >= 8) {
+                pending -= 8;
+                buffer[position++] = (byte) (accumulator >>> pending);
+            }
+        }
+        if (pending != 0) {
+            buffer[position++] = (byte) (accumulator << 8 - pending);
+        }
+        return position;
+    }
+
+    /*
+     * Checks the batch and the number of offsets given for count records, and
+     * makes room for the records
+     */
+    private static void checkBatch(int offsetCount, int count, EncodedBatch batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Cannot encode into a null batch");
+        }
+        if (count < 0 || count >= offsetCount) {
+            throw new IllegalArgumentException(String.format("%d records need %d offsets, but %d were given.", count, count + 1, offsetCount));
+        }
+        batch.reserveRecords(count);
+    }
+
+    /*
+     * Checks that exactly STREAMS streams were given
+     */
+    private static void checkStreams(Object[] streams) {
+        if (streams == null || streams.length != STREAMS) {
+            throw new IllegalArgumentException(String.format("Interleaved coding requires exactly %d streams.", STREAMS));
         }
-        tree = queue.remove();
     }
 
     /*
-     * Expands the frequency table to support 16-bit Unicode
+     * Checks that the given symbol has a code
+     * @param symbol the character or code point to check
+     * @return the symbol
      */
-    private void expand() {
-        if(frequencies.length == 256) {
-            int[] temp = new int[65536];
-            System.arraycopy(frequencies, 0, temp, 0, 0);
-            frequencies = temp;
+    private int checkedSymbol(int symbol) {
+        if (codebook.getLength(symbol) == 0) {
+            throw new IllegalArgumentException(String.format("The character %d does not have a code.", symbol));
         }
+        return symbol;
     }
 }
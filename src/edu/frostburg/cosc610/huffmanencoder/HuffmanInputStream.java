@@ -0,0 +1,153 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An InputStream that decodes a byte stream written by a HuffmanOutputStream
+ * or MappedFileCodec. Blocks are decoded one at a time as the bytes are read,
+ * so only one decoded block is held in memory. The arrays each block is read
+ * and decoded into are reused for the next one. The underlying stream is
+ * read through a buffer, so bytes that follow the END marker may be consumed.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class HuffmanInputStream extends InputStream {
+
+    private final InputStream in;
+    private final BlockBuffers buffers;
+    private byte[] block;
+    private int limit;
+    private int position;
+    private boolean started;
+    private boolean finished;
+
+    /**
+     * Creates a new HuffmanInputStream
+     *
+     * @param in the stream the encoded blocks are read from
+     */
+    public HuffmanInputStream(InputStream in) {
+        if (in == null) {
+            throw new IllegalArgumentException("Cannot decode from a null stream");
+        }
+        //block headers are read a byte at a time
+        this.in = new BufferedInputStream(in);
+        this.buffers = new BlockBuffers();
+        this.block = buffers.block;
+    }
+
+    /**
+     * Reads a single decoded byte
+     *
+     * @return the byte as a value from 0 to 255, or -1 at the end of the
+     * stream
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * block
+     */
+    @Override
+    public int read() throws IOException {
+        while (position == limit) {
+            if (!nextBlock()) {
+                return -1;
+            }
+        }
+        return block[position++] & 0xFF;
+    }
+
+    /**
+     * Reads decoded bytes into the given array
+     *
+     * @param bytes the array the bytes are stored in
+     * @param offset the index the first byte is stored at
+     * @param length the maximum number of bytes to read
+     * @return the number of bytes read, or -1 at the end of the stream
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * block
+     */
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (position == limit) {
+            if (!nextBlock()) {
+                return -1;
+            }
+        }
+        int count = Math.min(length, limit - position);
+        System.arraycopy(block, position, bytes, offset, count);
+        position += count;
+        return count;
+    }
+
+    /**
+     * Reads decoded bytes into the remaining space of the given buffer
+     *
+     * @param bytes the buffer the bytes are stored in
+     * @return the number of bytes read, or -1 at the end of the stream
+     * @throws IOException if the stream cannot be read or contains an invalid
+     * block
+     */
+    int read(ByteBuffer bytes) throws IOException {
+        if (!bytes.hasRemaining()) {
+            return 0;
+        }
+        while (position == limit) {
+            if (!nextBlock()) {
+                return -1;
+            }
+        }
+        int count = Math.min(bytes.remaining(), limit - position);
+        bytes.put(block, position, count);
+        position += count;
+        return count;
+    }
+
+    /**
+     * Gets the number of decoded bytes that can be read without decoding
+     * another block
+     *
+     * @return the number of bytes left in the current block
+     */
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    /**
+     * Closes the underlying stream
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /*
+     * Decodes the next block
+     * @return false if the END marker has been reached
+     */
+    private boolean nextBlock() throws IOException {
+        if (finished) {
+            return false;
+        }
+        if (!started) {
+            BlockFormat.readStreamHeader(in);
+            started = true;
+        }
+        int count = BlockFormat.readByteBlock(in, buffers);
+        if (count < 0) {
+            finished = true;
+            return false;
+        }
+        block = buffers.block;
+        limit = count;
+        position = 0;
+        return true;
+    }
+}
@@ -0,0 +1,228 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * An OutputStream that Huffman encodes the bytes written to it.<p>
+ * Bytes are collected in a direct buffer of one block, which is reused for
+ * every block, as is the array the encoded payload is built in. When the
+ * buffer fills up, the block is encoded with its own codebook, or stored or
+ * run-length coded if that is smaller, and written to the underlying stream.
+ * Memory use is therefore bounded by the block size no matter how much is
+ * written, which makes the stream suitable for sockets and other pipelines.
+ * The output is a byte stream that HuffmanInputStream and
+ * MappedFileCodec.decode both read.<p>
+ * A seekable stream also records the decoded and encoded size of every block
+ * and ends with a block directory, so that SeekableDecoder can decode any
+ * range of a file by reading only the blocks that cover it. Sequential
+ * readers skip the directory.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class HuffmanOutputStream extends OutputStream {
+
+    /**
+     * The default number of bytes in each block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private final CountingOutputStream out;
+    private final ByteBuffer block;
+    private final BlockBuffers buffers;
+    private final boolean seekable;
+    private long[] decodedSizes;
+    private long[] encodedSizes;
+    private int blockCount;
+    private boolean started;
+    private boolean closed;
+
+    /**
+     * Creates a new HuffmanOutputStream with the default block size
+     *
+     * @param out the stream the encoded blocks are written to
+     */
+    public HuffmanOutputStream(OutputStream out) {
+        this(out, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a new HuffmanOutputStream with the given block size
+     *
+     * @param out the stream the encoded blocks are written to
+     * @param blockSize the maximum number of bytes in each block
+     */
+    public HuffmanOutputStream(OutputStream out, int blockSize) {
+        this(out, blockSize, false);
+    }
+
+    /**
+     * Creates a new HuffmanOutputStream with the given block size that ends
+     * with a block directory if seekable is true
+     *
+     * @param out the stream the encoded blocks are written to
+     * @param blockSize the maximum number of bytes in each block
+     * @param seekable true to write a block directory for SeekableDecoder
+     */
+    public HuffmanOutputStream(OutputStream out, int blockSize, boolean seekable) {
+        if (out == null) {
+            throw new IllegalArgumentException("Cannot encode to a null stream");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The minimum allowable block size is 1");
+        }
+        //the block is written as a few small fields and one large payload
+        this.out = new CountingOutputStream(new BufferedOutputStream(out));
+        this.block = ByteBuffer.allocateDirect(blockSize);
+        this.buffers = new BlockBuffers();
+        this.seekable = seekable;
+        if (seekable) {
+            this.decodedSizes = new long[16];
+            this.encodedSizes = new long[16];
+        }
+    }
+
+    /**
+     * Writes a single byte
+     *
+     * @param b the byte to write in the low eight bits
+     * @throws IOException if the stream is closed or cannot be written
+     */
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block.put((byte) b);
+        if (!block.hasRemaining()) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Writes the given bytes, encoding every block that fills up
+     *
+     * @param bytes the array holding the bytes to write
+     * @param offset the index of the first byte to write
+     * @param length the number of bytes to write
+     * @throws IOException if the stream is closed or cannot be written
+     */
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+        while (length > 0) {
+            int count = Math.min(length, block.remaining());
+            block.put(bytes, offset, count);
+            offset += count;
+            length -= count;
+            if (!block.hasRemaining()) {
+                writeBlock();
+            }
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of the given buffer, encoding every block
+     * that fills up. The position of the buffer is advanced to its limit.
+     *
+     * @param bytes the bytes to write
+     * @return the number of bytes written
+     * @throws IOException if the stream is closed or cannot be written
+     */
+    int write(ByteBuffer bytes) throws IOException {
+        ensureOpen();
+        int written = bytes.remaining();
+        while (bytes.hasRemaining()) {
+            ByteBuffer slice = bytes.duplicate();
+            //through Buffer, since the ByteBuffer overrides of limit(int) and position(int) do not exist before Java 9
+            ((Buffer) slice).limit(slice.position() + Math.min(slice.remaining(), block.remaining()));
+            block.put(slice);
+            ((Buffer) bytes).position(slice.position());
+            if (!block.hasRemaining()) {
+                writeBlock();
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Encodes the bytes written since the last block as a block of their own
+     * and flushes the underlying stream, so that everything written so far
+     * can be decoded on the other side
+     *
+     * @throws IOException if the stream is closed or cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (block.position() != 0) {
+            writeBlock();
+        }
+        out.flush();
+    }
+
+    /**
+     * Encodes the final partial block, writes the block directory of a
+     * seekable stream and the END marker, and closes the underlying stream
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (block.position() != 0) {
+                writeBlock();
+            }
+            if (!started) {
+                BlockFormat.writeStreamHeader(out);
+            }
+            if (seekable) {
+                BlockFormat.writeDirectory(out, out.getCount(), decodedSizes, encodedSizes, blockCount);
+            } else {
+                out.write(BlockFormat.END);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /*
+     * Throws an IOException if the stream has been closed
+     */
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Attempted to write to a closed stream.");
+        }
+    }
+
+    /*
+     * Encodes the buffered bytes as a block and empties the buffer
+     */
+    private void writeBlock() throws IOException {
+        if (!started) {
+            BlockFormat.writeStreamHeader(out);
+            started = true;
+        }
+        //through Buffer, since the ByteBuffer overrides of flip() and clear() do not exist before Java 9
+        ((Buffer) block).flip();
+        long offset = out.getCount();
+        int decodedSize = BlockFormat.writeByteBlock(block, out, buffers);
+        ((Buffer) block).clear();
+        if (seekable) {
+            if (blockCount == decodedSizes.length) {
+                decodedSizes = Arrays.copyOf(decodedSizes, 2 * blockCount);
+                encodedSizes = Arrays.copyOf(encodedSizes, 2 * blockCount);
+            }
+            decodedSizes[blockCount] = decodedSize;
+            encodedSizes[blockCount] = out.getCount() - offset;
+            ++blockCount;
+        }
+    }
+}
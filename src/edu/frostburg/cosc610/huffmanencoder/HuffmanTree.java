@@ -1,12 +1,19 @@
 package edu.frostburg.cosc610.huffmanencoder;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * An implementation of a Huffman Tree.<p>
  * This implementation provides only the basic functionality required for
- * Huffman Encoding.
+ * Huffman Encoding. Trees are traversed iteratively, so a degenerate tree
+ * cannot overflow the stack. ArrayHuffmanTree stores the same structure in
+ * flat arrays without allocating a node per symbol. Trees are immutable; the
+ * code map is built on first use and published through a volatile field, so a
+ * tree may be shared between threads.
  *
  * @author Kerwin Yoder
  * @version 2016.04.30
@@ -14,8 +21,8 @@ import java.util.Map;
  */
 public class HuffmanTree<E> {
 
-    private Node root;
-    private Map<E, String> map;
+    private final Node<E> root;
+    private volatile Map<E, String> map;
 
     /**
      * Creates a new HuffmanTree with the given element and priority. tree
@@ -31,7 +38,7 @@ public class HuffmanTree<E> {
         if (priority < 0) {
             throw new IllegalArgumentException("The minimum allowable priority is 0");
         }
-        root = new LeafNode(element, priority);
+        root = new LeafNode<>(element, priority);
     }
 
     /**
@@ -45,22 +52,50 @@ public class HuffmanTree<E> {
      */
     public HuffmanTree(HuffmanTree<E> left, HuffmanTree<E> right) {
         int priority = left.root.priority + right.root.priority;
-        this.root = new InternalNode(priority, left.root, right.root);
+        this.root = new InternalNode<>(priority, left.root, right.root);
     }
 
     /**
      * Gets a map containing the elements and their associated codes
      *
-     * @return a map containing the elements as keys and their associated codes
-     * as values
+     * @return an unmodifiable map containing the elements as keys and their
+     * associated codes as values
      */
     public Map<E, String> getMap() {
-        if (map == null) {
-            map = new HashMap<>();
-            StringBuilder builder = new StringBuilder();
-            initializeMap(root, builder);
+        Map<E, String> result = map;
+        if (result == null) {
+            //racing threads may each build the map, but they build equal maps
+            result = Collections.unmodifiableMap(buildMap());
+            map = result;
         }
-        return map;
+        return result;
+    }
+
+    /**
+     * Gets a map containing the elements and the lengths of their codes
+     *
+     * @return a map containing the elements as keys and the lengths of their
+     * associated codes as values
+     */
+    public Map<E, Integer> getCodeLengths() {
+        Map<E, Integer> lengths = new HashMap<>();
+        Deque<Node<E>> nodes = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        nodes.push(root);
+        depths.push(0);
+        while (!nodes.isEmpty()) {
+            Node<E> node = nodes.pop();
+            int depth = depths.pop();
+            if (node instanceof LeafNode) {
+                lengths.put(((LeafNode<E>) node).data, depth);
+            } else {
+                nodes.push(((InternalNode<E>) node).right);
+                depths.push(depth + 1);
+                nodes.push(((InternalNode<E>) node).left);
+                depths.push(depth + 1);
+            }
+        }
+        return lengths;
     }
 
     /**
@@ -73,28 +108,37 @@ public class HuffmanTree<E> {
     }
 
     /*
-     * Initializes the map by traversing the tree recursively
-     * @param root the root of the tree or subtree
-     * @param builder A StringBuilder used to generate the codes for each element
+     * Builds the map by traversing the tree with an explicit stack
+     * @return the map
      */
-    private void initializeMap(Node root, StringBuilder builder) {
-        if (root instanceof LeafNode) {
-            map.put((E) ((LeafNode) root).data, builder.toString());
-        } else {
-            builder.append(0);
-            initializeMap(((InternalNode) root).left, builder);
-            builder.setCharAt(builder.length() - 1, '1');
-            initializeMap(((InternalNode) root).right, builder);
-            builder.deleteCharAt(builder.length() - 1);
+    private Map<E, String> buildMap() {
+        Map<E, String> map = new HashMap<>();
+        Deque<Node<E>> nodes = new ArrayDeque<>();
+        Deque<String> codes = new ArrayDeque<>();
+        nodes.push(root);
+        codes.push("");
+        while (!nodes.isEmpty()) {
+            Node<E> node = nodes.pop();
+            String code = codes.pop();
+            if (node instanceof LeafNode) {
+                map.put(((LeafNode<E>) node).data, code);
+            } else {
+                nodes.push(((InternalNode<E>) node).right);
+                codes.push(code + '1');
+                nodes.push(((InternalNode<E>) node).left);
+                codes.push(code + '0');
+            }
         }
+        return map;
     }
 
     /*
      * A node in the HuffmanTree
+     * @param <E> The type of the elements stored in the tree
      */
-    private static class Node {
+    private static class Node<E> {
 
-        int priority;
+        private final int priority;
 
         private Node(int priority) {
             this.priority = priority;
@@ -103,13 +147,14 @@ public class HuffmanTree<E> {
 
     /*
      * An internal node in the HuffmanTree
+     * @param <E> The type of the elements stored in the tree
      */
-    private static class InternalNode extends Node {
+    private static class InternalNode<E> extends Node<E> {
 
-        private Node left;
-        private Node right;
+        private final Node<E> left;
+        private final Node<E> right;
 
-        private InternalNode(int priority, Node left, Node right) {
+        private InternalNode(int priority, Node<E> left, Node<E> right) {
             super(priority);
             this.left = left;
             this.right = right;
@@ -120,7 +165,7 @@ public class HuffmanTree<E> {
      * A LeafNode in the HuffmanTree
      * @param <E> The type of the elements stored in the LeafNode
      */
-    private static class LeafNode<E> extends Node {
+    private static class LeafNode<E> extends Node<E> {
 
         private final E data;
 
@@ -0,0 +1,250 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.util.Arrays;
+
+/**
+ * A priority queue of int indices with int priorities<p>
+ * Each entry is packed into a single long holding the priority in its upper
+ * 32 bits and the index in its lower 32 bits, so the heap is one primitive
+ * array and comparing two entries is one comparison of longs. Entries with
+ * equal priorities are removed in order of increasing index. The capacity is
+ * fixed when the heap is created and nothing is allocated afterward. A
+ * position table records where each index sits in the heap, which lets
+ * decreaseKey move an entry up in place.<p>
+ * The heap may be binary or d-ary. A 4-ary heap is half as deep and keeps the
+ * children of a node in adjacent array slots, which suits large heaps whose
+ * entries do not fit in the cache.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class IntHeap {
+
+    /**
+     * The number of children of a node in a binary heap
+     */
+    public static final int BINARY = 2;
+    /**
+     * The number of children of a node in a 4-ary heap
+     */
+    public static final int QUATERNARY = 4;
+
+    private static final int ABSENT = -1;
+
+    private final long[] heap;
+    private final int[] positions;
+    private final int shift;
+    private int size;
+
+    /**
+     * Creates a new, empty binary IntHeap
+     *
+     * @param capacity the number of indices the heap can hold; indices are
+     * between 0 and capacity - 1
+     */
+    public IntHeap(int capacity) {
+        this(capacity, BINARY);
+    }
+
+    /**
+     * Creates a new, empty IntHeap whose nodes have the given number of
+     * children
+     *
+     * @param capacity the number of indices the heap can hold; indices are
+     * between 0 and capacity - 1
+     * @param arity the number of children of each node; a power of 2 between
+     * 2 and 16
+     */
+    public IntHeap(int capacity, int arity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The minimum allowable capacity is 0");
+        }
+        if (arity < 2 || arity > 16 || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException(String.format("%d is an invalid arity. The arity must be a power of 2 between 2 and 16.", arity));
+        }
+        this.heap = new long[capacity];
+        this.positions = new int[capacity];
+        this.shift = Integer.numberOfTrailingZeros(arity);
+        Arrays.fill(positions, ABSENT);
+    }
+
+    /**
+     * Creates a heap holding every index of the given array with the priority
+     * stored at that index. The heap is built bottom-up in linear time.
+     *
+     * @param priorities the priority of each index
+     * @param capacity the number of indices the heap can hold; at least
+     * priorities.length
+     * @param arity the number of children of each node; a power of 2 between
+     * 2 and 16
+     * @return the heap
+     */
+    public static IntHeap heapify(int[] priorities, int capacity, int arity) {
+        if (priorities == null) {
+            throw new IllegalArgumentException("Cannot build a heap from a null array");
+        }
+        if (capacity < priorities.length) {
+            throw new IllegalArgumentException(String.format("A capacity of %d cannot hold %d indices.", capacity, priorities.length));
+        }
+        IntHeap heap = new IntHeap(capacity, arity);
+        for (int i = 0; i < priorities.length; ++i) {
+            heap.heap[i] = entry(i, priorities[i]);
+            heap.positions[i] = i;
+        }
+        heap.size = priorities.length;
+        //the last node with a child is the parent of the last node
+        for (int i = heap.parent(heap.size - 1); i >= 0; --i) {
+            heap.downheap(i);
+        }
+        return heap;
+    }
+
+    /**
+     * Gets the number of indices in the heap
+     *
+     * @return the number of indices in the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the given index is in the heap
+     *
+     * @param index the index
+     * @return true if the given index is in the heap
+     */
+    public boolean contains(int index) {
+        return index >= 0 && index < positions.length && positions[index] != ABSENT;
+    }
+
+    /**
+     * Inserts the given index with the given priority
+     *
+     * @param index the index to insert; between 0 and the capacity - 1, and not
+     * already in the heap
+     * @param priority the priority of the index
+     */
+    public void insert(int index, int priority) {
+        if (index < 0 || index >= positions.length) {
+            throw new IllegalArgumentException(String.format("%d is an invalid index. The capacity is %d.", index, positions.length));
+        }
+        if (positions[index] != ABSENT) {
+            throw new IllegalArgumentException(String.format("The index %d is already in the heap.", index));
+        }
+        heap[size] = entry(index, priority);
+        positions[index] = size;
+        upheap(size++);
+    }
+
+    /**
+     * Lowers the priority value of an index already in the heap, which moves
+     * it toward the front
+     *
+     * @param index the index whose priority is lowered
+     * @param priority the new priority; no greater than the current one
+     */
+    public void decreaseKey(int index, int priority) {
+        if (!contains(index)) {
+            throw new IllegalArgumentException(String.format("The index %d is not in the heap.", index));
+        }
+        int position = positions[index];
+        if (priority > (int) (heap[position] >> 32)) {
+            throw new IllegalArgumentException(String.format("%d is greater than the current priority of the index %d.", priority, index));
+        }
+        heap[position] = entry(index, priority);
+        upheap(position);
+    }
+
+    /**
+     * Gets the priority of the index with the highest priority (lowest value)
+     *
+     * @return the lowest priority value in the heap
+     */
+    public int peekPriority() {
+        if (size == 0) {
+            throw new IllegalStateException("The heap is empty.");
+        }
+        return (int) (heap[0] >> 32);
+    }
+
+    /**
+     * Removes the index with the highest priority (lowest value)
+     *
+     * @return the removed index, or -1 if the heap is empty
+     */
+    public int remove() {
+        if (size == 0) {
+            return ABSENT;
+        }
+        int index = (int) heap[0];
+        positions[index] = ABSENT;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            positions[(int) heap[0]] = 0;
+            downheap(0);
+        }
+        return index;
+    }
+
+    /*
+     * Packs an index and a priority into an entry that orders by priority, then index
+     */
+    private static long entry(int index, int priority) {
+        return ((long) priority << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    /*
+     * Returns the position of the parent of the given position, or -1 for the root
+     */
+    private int parent(int position) {
+        return position <= 0 ? -1 : (position - 1) >> shift;
+    }
+
+    /*
+     * Moves the entry at the given position up until its parent is smaller
+     */
+    private void upheap(int position) {
+        long entry = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >> shift;
+            if (heap[parent] <= entry) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[(int) heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = entry;
+        positions[(int) entry] = position;
+    }
+
+    /*
+     * Moves the entry at the given position down until its children are larger
+     */
+    private void downheap(int position) {
+        long entry = heap[position];
+        while (true) {
+            long firstChild = ((long) position << shift) + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int first = (int) firstChild;
+            int last = (int) Math.min(size, firstChild + (1 << shift));
+            int smallest = first;
+            for (int child = first + 1; child < last; ++child) {
+                if (heap[child] < heap[smallest]) {
+                    smallest = child;
+                }
+            }
+            if (heap[smallest] >= entry) {
+                break;
+            }
+            heap[position] = heap[smallest];
+            positions[(int) heap[position]] = position;
+            position = smallest;
+        }
+        heap[position] = entry;
+        positions[(int) entry] = position;
+    }
+}
@@ -0,0 +1,110 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Encodes files as raw bytes through memory-mapped views.<p>
+ * Unlike HuffmanEncoder(String), which decodes the file to chars with the
+ * platform charset, the byte alphabet mode treats every byte as a symbol from
+ * 0 to 255. Binary files are therefore encoded exactly and no charset decoding
+ * is done. The file is counted by Histogram and then encoded straight from
+ * mapped chunks of Histogram.CHUNK_SIZE bytes, so files larger than 2GB are
+ * remapped chunk by chunk. Every chunk becomes one block, and all blocks share
+ * the codebook built from the whole file. The frequency table of each chunk is
+ * kept from the counting pass, so a block's size estimate does not count the
+ * chunk again.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class MappedFileCodec {
+
+    private MappedFileCodec() {
+    }
+
+    /**
+     * Encodes the bytes of the given file as a complete stream
+     *
+     * @param file the file to encode
+     * @param out the stream the encoded stream is written to
+     * @return the encoder built from the frequencies of the file's bytes, or
+     * null if the file is empty
+     * @throws IOException if the file cannot be read or the stream cannot be
+     * written
+     */
+    public static HuffmanEncoder encode(Path file, OutputStream out) throws IOException {
+        return encode(file, out, false);
+    }
+
+    /**
+     * Encodes the bytes of the given file as a complete stream of
+     * single-stream or interleaved blocks
+     *
+     * @param file the file to encode
+     * @param out the stream the encoded stream is written to
+     * @param interleaved true to split every block into
+     * HuffmanEncoder.STREAMS interleaved substreams
+     * @return the encoder built from the frequencies of the file's bytes, or
+     * null if the file is empty
+     * @throws IOException if the file cannot be read or the stream cannot be
+     * written
+     */
+    public static HuffmanEncoder encode(Path file, OutputStream out, boolean interleaved) throws IOException {
+        BlockFormat.writeStreamHeader(out);
+        HuffmanEncoder encoder = null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            //the table of every chunk is kept, so each chunk is read once to count it and once to encode it
+            int[][] chunks = new int[Histogram.chunkCount(size)][];
+            CodecMetrics metrics = CodecMetrics.getInstance();
+            long start = System.nanoTime();
+            int[] frequencies = Histogram.toFrequencies(Histogram.count(channel, chunks, ForkJoinPool.commonPool()));
+            metrics.recordHistogram(start);
+            if (size != 0) {
+                start = System.nanoTime();
+                encoder = new HuffmanEncoder(frequencies, Codebook.MAX_LENGTH, TreeBuilder.TWO_QUEUE);
+                metrics.recordTreeBuild(start);
+            }
+            for (int i = 0; i < chunks.length; ++i) {
+                long position = (long) i * Histogram.CHUNK_SIZE;
+                long length = Math.min(Histogram.CHUNK_SIZE, size - position);
+                ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                if (interleaved) {
+                    BlockFormat.writeInterleavedBlock(encoder, chunks[i], chunk, out);
+                } else {
+                    BlockFormat.writeBlock(encoder, chunks[i], chunk, out);
+                }
+            }
+        }
+        out.write(BlockFormat.END);
+        return encoder;
+    }
+
+    /**
+     * Decodes a byte stream and writes the bytes to the given stream
+     *
+     * @param in the stream to decode
+     * @param out the stream the decoded bytes are written to
+     * @return the number of bytes decoded
+     * @throws IOException if the stream cannot be read or is invalid, or the
+     * output cannot be written
+     */
+    public static long decode(InputStream in, OutputStream out) throws IOException {
+        BlockFormat.readStreamHeader(in);
+        long size = 0;
+        byte[] block = BlockFormat.readByteBlock(in);
+        while (block != null) {
+            out.write(block);
+            size += block.length;
+            block = BlockFormat.readByteBlock(in);
+        }
+        return size;
+    }
+}
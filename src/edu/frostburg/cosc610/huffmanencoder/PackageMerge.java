@@ -0,0 +1,95 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+/**
+ * Computes optimal length-limited code lengths with the package-merge
+ * algorithm.<p>
+ * Symbols are sorted by frequency. Starting from the deepest allowed level,
+ * adjacent items are paired into packages and the packages are merged with the
+ * symbols to form the list of the level above. The cheapest 2n - 2 items of
+ * the top list are then selected, and every symbol is as long as the number
+ * of levels in which it was selected. Only the package flags of each level are
+ * kept, so memory grows with n times the length limit in bytes.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+final class PackageMerge {
+
+    private PackageMerge() {
+    }
+
+    /**
+     * Computes code lengths that minimize the encoded size without exceeding
+     * the given maximum length
+     *
+     * @param frequencies the frequency of each symbol
+     * @param maxLength the maximum code length; at least 1
+     * @return the code length of each symbol; 0 for symbols with a frequency of
+     * 0
+     */
+    static int[] lengths(int[] frequencies, int maxLength) {
+        int[] lengths = new int[frequencies.length];
+        long[] sorted = TwoQueueBuilder.sort(frequencies);
+        int n = sorted.length;
+        if (n == 0) {
+            return lengths;
+        }
+        if (maxLength < 31 && n > 1 << maxLength) {
+            throw new IllegalArgumentException(String.format("%d symbols cannot be encoded in codes of at most %d bits.", n, maxLength));
+        }
+        if (n == 1) {
+            lengths[(int) sorted[0]] = 1;
+            return lengths;
+        }
+        long[] weights = new long[n];
+        for (int i = 0; i < n; ++i) {
+            weights[i] = sorted[i] >>> 32;
+        }
+        //packages[level][i] is true when item i of the list for that level is a package
+        boolean[][] packages = new boolean[maxLength][];
+        long[] list = weights.clone();
+        int size = n;
+        packages[maxLength - 1] = new boolean[n];
+        long[] next = new long[2 * n];
+        for (int level = maxLength - 2; level >= 0; --level) {
+            boolean[] flags = new boolean[n + size / 2];
+            int leaf = 0;
+            int pair = 0;
+            int merged = 0;
+            while (leaf < n || pair + 1 < size) {
+                long packageWeight = pair + 1 < size ? list[pair] + list[pair + 1] : Long.MAX_VALUE;
+                if (leaf < n && weights[leaf] <= packageWeight) {
+                    next[merged++] = weights[leaf++];
+                } else {
+                    flags[merged] = true;
+                    next[merged++] = packageWeight;
+                    pair += 2;
+                }
+            }
+            packages[level] = flags;
+            long[] temp = list;
+            list = next;
+            next = temp.length >= 2 * n ? temp : new long[2 * n];
+            size = merged;
+        }
+        //select the cheapest 2n - 2 items of the top list and follow the packages down
+        int count = 2 * n - 2;
+        for (int level = 0; level < maxLength && count > 0; ++level) {
+            boolean[] flags = packages[level];
+            int leaves = 0;
+            int packaged = 0;
+            for (int i = 0; i < count; ++i) {
+                if (flags[i]) {
+                    ++packaged;
+                } else {
+                    ++leaves;
+                }
+            }
+            for (int i = 0; i < leaves; ++i) {
+                lengths[(int) sorted[i]]++;
+            }
+            count = 2 * packaged;
+        }
+        return lengths;
+    }
+}
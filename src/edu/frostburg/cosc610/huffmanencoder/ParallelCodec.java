@@ -0,0 +1,270 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A block-parallel Huffman codec.<p>
+ * Input is split into independent blocks, and the blocks are analyzed and
+ * encoded concurrently on a ForkJoinPool. Blocks are gathered into runs of a
+ * few blocks per worker; each run is written as an INDEX block followed by
+ * the encoded blocks in order, so memory use stays bounded for input of any
+ * size. The output is an ordinary block encoded stream that a BlockDecoder can
+ * also read, and the index lets decode() split it up again in parallel.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class ParallelCodec {
+
+    /**
+     * The default number of characters in each block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private static final int BLOCKS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+    private final int blockSize;
+    private final int runSize;
+
+    /**
+     * Creates a new ParallelCodec that uses the common pool and the default
+     * block size
+     */
+    public ParallelCodec() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a new ParallelCodec
+     *
+     * @param pool the pool the blocks are encoded and decoded on
+     * @param blockSize the maximum number of characters in each block
+     */
+    public ParallelCodec(ForkJoinPool pool, int blockSize) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Cannot run on a null pool");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The minimum allowable block size is 1");
+        }
+        this.pool = pool;
+        this.blockSize = blockSize;
+        this.runSize = Math.min(BlockFormat.MAX_INDEX_SIZE, pool.getParallelism() * BLOCKS_PER_WORKER);
+    }
+
+    /**
+     * Encodes the chars of the given char[] from the given beginIndex up to the
+     * given endIndex as a complete stream
+     *
+     * @param characters the array of chars to encode
+     * @param beginIndex the index of the first char that will be encoded
+     * @param endIndex the ending index (exclusive) of chars that will be
+     * encoded
+     * @param out the stream the encoded stream is written to
+     * @throws IOException if the stream cannot be written
+     */
+    public void encode(char[] characters, int beginIndex, int endIndex, OutputStream out) throws IOException {
+        if (characters == null) {
+            throw new IllegalArgumentException("Cannot encode a null array");
+        }
+        BlockFormat.writeStreamHeader(out);
+        long runChars = (long) runSize * blockSize;
+        for (int begin = beginIndex; begin < endIndex; begin += (int) Math.min(runChars, endIndex - begin)) {
+            writeRun(characters, begin, (int) Math.min(begin + runChars, endIndex), out);
+        }
+        out.write(BlockFormat.END);
+    }
+
+    /**
+     * Encodes every character that can be read from the given reader as a
+     * complete stream. At most one run of blocks is held in memory.
+     *
+     * @param reader the reader to encode
+     * @param out the stream the encoded stream is written to
+     * @throws IOException if the reader cannot be read or the stream cannot be
+     * written
+     */
+    public void encode(Reader reader, OutputStream out) throws IOException {
+        BlockFormat.writeStreamHeader(out);
+        int maxRun = (int) Math.min(Integer.MAX_VALUE - 8, (long) runSize * blockSize);
+        //the run buffer starts at one block and only grows while the input keeps coming
+        char[] run = new char[Math.min(blockSize, maxRun)];
+        int size = 0;
+        int charsRead = reader.read(run);
+        while (charsRead != -1) {
+            size += charsRead;
+            if (size == run.length) {
+                if (run.length < maxRun) {
+                    run = Arrays.copyOf(run, (int) Math.min(maxRun, 2L * run.length));
+                } else {
+                    writeRun(run, 0, size, out);
+                    size = 0;
+                }
+            }
+            charsRead = reader.read(run, size, run.length - size);
+        }
+        if (size != 0) {
+            writeRun(run, 0, size, out);
+        }
+        out.write(BlockFormat.END);
+    }
+
+    /**
+     * Decodes a block encoded stream and writes the characters to the given
+     * writer. Runs of blocks described by an INDEX block are decoded in
+     * parallel; blocks without an index are decoded in order.
+     *
+     * @param in the stream to decode
+     * @param writer the writer the decoded characters are written to
+     * @throws IOException if the stream cannot be read or is invalid, or the
+     * writer cannot be written
+     */
+    public void decode(InputStream in, Writer writer) throws IOException {
+        BlockFormat.readStreamHeader(in);
+        int type = BlockFormat.readType(in);
+        while (type != BlockFormat.END) {
+            if (type == BlockFormat.INDEX) {
+                int[][] index = BlockFormat.readIndex(in);
+                byte[][] blocks = new byte[index[0].length][];
+                for (int i = 0; i < blocks.length; ++i) {
+                    blocks[i] = BlockFormat.readBytes(in, index[0][i]);
+                }
+                //an index of no blocks decodes to nothing
+                if (blocks.length != 0) {
+                    char[][] decoded = new char[blocks.length][];
+                    invoke(new DecodeTask(blocks, decoded, 0, blocks.length));
+                    for (int i = 0; i < decoded.length; ++i) {
+                        if (decoded[i].length != index[1][i]) {
+                            throw new IOException(String.format("Block %d holds %d chars, but the index says %d.", i, decoded[i].length, index[1][i]));
+                        }
+                        writer.write(decoded[i]);
+                    }
+                }
+            } else {
+                writer.write(BlockFormat.readBlock(type, in));
+            }
+            type = BlockFormat.readType(in);
+        }
+    }
+
+    /*
+     * Encodes a run of blocks in parallel and writes its index and blocks
+     */
+    private void writeRun(char[] characters, int beginIndex, int endIndex, OutputStream out) throws IOException {
+        int count = (int) (((long) endIndex - beginIndex + blockSize - 1) / blockSize);
+        byte[][] blocks = new byte[count][];
+        int[] characterCounts = new int[count];
+        for (int i = 0; i < count; ++i) {
+            characterCounts[i] = (int) Math.min(blockSize, (long) endIndex - beginIndex - (long) i * blockSize);
+        }
+        invoke(new EncodeTask(characters, beginIndex, blockSize, characterCounts, blocks, 0, count));
+        BlockFormat.writeIndex(out, blocks, characterCounts, count);
+        for (byte[] block : blocks) {
+            out.write(block);
+        }
+    }
+
+    /*
+     * Runs the given task on the pool, rethrowing any IOException it raised
+     */
+    private void invoke(RecursiveAction task) throws IOException {
+        try {
+            pool.invoke(task);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /*
+     * Encodes a range of blocks, splitting the range in half until one block remains
+     */
+    private static class EncodeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final char[] characters;
+        private final int beginIndex;
+        private final int blockSize;
+        private final int[] characterCounts;
+        private final byte[][] blocks;
+        private final int first;
+        private final int last;
+
+        private EncodeTask(char[] characters, int beginIndex, int blockSize, int[] characterCounts, byte[][] blocks, int first, int last) {
+            this.characters = characters;
+            this.beginIndex = beginIndex;
+            this.blockSize = blockSize;
+            this.characterCounts = characterCounts;
+            this.blocks = blocks;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > 1) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new EncodeTask(characters, beginIndex, blockSize, characterCounts, blocks, first, middle),
+                        new EncodeTask(characters, beginIndex, blockSize, characterCounts, blocks, middle, last));
+                return;
+            }
+            int begin = beginIndex + first * blockSize;
+            ByteArrayOutputStream block = new ByteArrayOutputStream(characterCounts[first] / 2 + 64);
+            try {
+                BlockFormat.writeBlock(characters, begin, begin + characterCounts[first], block);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            blocks[first] = block.toByteArray();
+        }
+    }
+
+    /*
+     * Decodes a range of blocks, splitting the range in half until one block remains
+     */
+    private static class DecodeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[][] blocks;
+        private final char[][] decoded;
+        private final int first;
+        private final int last;
+
+        private DecodeTask(byte[][] blocks, char[][] decoded, int first, int last) {
+            this.blocks = blocks;
+            this.decoded = decoded;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > 1) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new DecodeTask(blocks, decoded, first, middle), new DecodeTask(blocks, decoded, middle, last));
+                return;
+            }
+            try {
+                char[] block = BlockFormat.readBlock(new ByteArrayInputStream(blocks[first]));
+                if (block == null) {
+                    throw new IOException("The index points at an END marker.");
+                }
+                decoded[first] = block;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Decodes any range of a seekable byte stream without decoding the blocks
+ * before it.<p>
+ * A stream written by HuffmanOutputStream with seekable set ends with a
+ * directory of the decoded and encoded size of every block, and a trailer
+ * that gives the offset of the directory. The decoder reads the directory
+ * once from the end of the file and turns it into the offset of every block
+ * in both the decoded and the encoded stream. Seeking is then a binary search
+ * over the decoded offsets, and only the blocks that cover a requested range
+ * are read from the file and decoded. The last block decoded is kept, so
+ * reading forward through a block decodes it only once.<p>
+ * The decoder is a read-only SeekableByteChannel whose size is the decoded
+ * size of the stream.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class SeekableDecoder implements SeekableByteChannel {
+
+    private final FileChannel channel;
+    private final long[] decodedOffsets;
+    private final long[] encodedOffsets;
+    private final int blockCount;
+    private long position;
+    private int cachedIndex;
+    private byte[] cachedBlock;
+
+    /**
+     * Opens the given seekable stream
+     *
+     * @param file the file holding a stream written with a block directory
+     * @throws IOException if the file cannot be read or is not a seekable
+     * stream
+     */
+    public SeekableDecoder(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            //the directory is followed by the END marker and the trailer
+            if (size < BlockFormat.HEADER_SIZE + 3 + BlockFormat.TRAILER_SIZE) {
+                throw new IOException("The stream does not end with a block directory.");
+            }
+            BlockFormat.readStreamHeader(new ByteArrayInputStream(readFully(0, BlockFormat.HEADER_SIZE)));
+            long directoryOffset = ByteBuffer.wrap(readFully(size - BlockFormat.TRAILER_SIZE, BlockFormat.TRAILER_SIZE)).getLong();
+            long directoryEnd = size - BlockFormat.TRAILER_SIZE - 1;
+            if (directoryOffset < BlockFormat.HEADER_SIZE || directoryOffset >= directoryEnd
+                    || directoryEnd - directoryOffset > Integer.MAX_VALUE) {
+                throw new IOException("The stream does not end with a block directory.");
+            }
+            InputStream in = new ByteArrayInputStream(readFully(directoryOffset, (int) (directoryEnd - directoryOffset + 1)));
+            if (in.read() != BlockFormat.DIRECTORY) {
+                throw new IOException("The stream does not end with a block directory.");
+            }
+            long[][] directory = BlockFormat.readDirectory(in);
+            if (in.read() != BlockFormat.END) {
+                throw new IOException("The block directory is not followed by the END marker.");
+            }
+            blockCount = directory[0].length;
+            decodedOffsets = new long[blockCount + 1];
+            encodedOffsets = new long[blockCount + 1];
+            encodedOffsets[0] = BlockFormat.HEADER_SIZE;
+            for (int i = 0; i < blockCount; ++i) {
+                decodedOffsets[i + 1] = decodedOffsets[i] + directory[0][i];
+                encodedOffsets[i + 1] = encodedOffsets[i] + directory[1][i];
+            }
+            if (encodedOffsets[blockCount] != directoryOffset) {
+                throw new IOException("The block directory does not match the blocks of the stream.");
+            }
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+        this.cachedIndex = -1;
+    }
+
+    /**
+     * Gets the number of blocks in the stream
+     *
+     * @return the number of blocks
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Gets the decoded size of the stream
+     *
+     * @return the number of bytes the stream decodes to
+     * @throws IOException if the decoder is closed
+     */
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return decodedOffsets[blockCount];
+    }
+
+    /**
+     * Gets the offset in the decoded stream that the next read starts at
+     *
+     * @return the position
+     * @throws IOException if the decoder is closed
+     */
+    @Override
+    public long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    /**
+     * Sets the offset in the decoded stream that the next read starts at. No
+     * block is decoded until the next read.
+     *
+     * @param newPosition the new position; a position at or past the end
+     * makes the next read return -1
+     * @return this decoder
+     * @throws IOException if the decoder is closed
+     */
+    @Override
+    public SeekableDecoder position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException(String.format("%d is not a valid position.", newPosition));
+        }
+        position = newPosition;
+        return this;
+    }
+
+    /**
+     * Sets the offset in the decoded stream that the next read starts at
+     *
+     * @param newPosition the new position
+     * @throws IOException if the decoder is closed
+     */
+    public void seek(long newPosition) throws IOException {
+        position(newPosition);
+    }
+
+    /**
+     * Decodes bytes from the current position into the given buffer and
+     * advances the position past them
+     *
+     * @param bytes the buffer to fill
+     * @return the number of bytes read, or -1 if the position is at or past
+     * the end of the stream
+     * @throws IOException if the decoder is closed or a block is invalid
+     */
+    @Override
+    public int read(ByteBuffer bytes) throws IOException {
+        ensureOpen();
+        if (position >= decodedOffsets[blockCount]) {
+            return -1;
+        }
+        int total = 0;
+        while (bytes.hasRemaining() && position < decodedOffsets[blockCount]) {
+            int index = findBlock(position);
+            byte[] block = decodeBlock(index);
+            int offset = (int) (position - decodedOffsets[index]);
+            int count = Math.min(bytes.remaining(), block.length - offset);
+            bytes.put(block, offset, count);
+            position += count;
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Decodes the given range of the decoded stream. Only the blocks that
+     * cover the range are read, and the position is not changed.
+     *
+     * @param offset the offset of the first byte in the decoded stream
+     * @param length the number of bytes to decode
+     * @return the decoded bytes
+     * @throws IOException if the decoder is closed or a block is invalid
+     */
+    public byte[] readRange(long offset, int length) throws IOException {
+        ensureOpen();
+        if (offset < 0 || length < 0 || offset > decodedOffsets[blockCount] - length) {
+            throw new IllegalArgumentException(String.format("The range of %d bytes at %d is outside the stream of %d bytes.",
+                    length, offset, decodedOffsets[blockCount]));
+        }
+        byte[] range = new byte[length];
+        int filled = 0;
+        while (filled < length) {
+            int index = findBlock(offset + filled);
+            byte[] block = decodeBlock(index);
+            int blockOffset = (int) (offset + filled - decodedOffsets[index]);
+            int count = Math.min(length - filled, block.length - blockOffset);
+            System.arraycopy(block, blockOffset, range, filled, count);
+            filled += count;
+        }
+        return range;
+    }
+
+    /**
+     * Throws NonWritableChannelException, since the decoder is read-only
+     *
+     * @param bytes ignored
+     * @return never returns
+     */
+    @Override
+    public int write(ByteBuffer bytes) {
+        throw new NonWritableChannelException();
+    }
+
+    /**
+     * Throws NonWritableChannelException, since the decoder is read-only
+     *
+     * @param size ignored
+     * @return never returns
+     */
+    @Override
+    public SeekableDecoder truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    /**
+     * Closes the file
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        cachedBlock = null;
+        channel.close();
+    }
+
+    /*
+     * Throws a ClosedChannelException if the decoder has been closed
+     */
+    private void ensureOpen() throws IOException {
+        if (!channel.isOpen()) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    /*
+     * Finds the block holding the given decoded offset, skipping any empty
+     * blocks
+     */
+    private int findBlock(long offset) {
+        int index = Arrays.binarySearch(decodedOffsets, 0, blockCount + 1, offset);
+        if (index < 0) {
+            return -index - 2;
+        }
+        //equal offsets belong to empty blocks before the one that holds the byte
+        while (decodedOffsets[index + 1] == offset) {
+            ++index;
+        }
+        return index;
+    }
+
+    /*
+     * Reads and decodes the block at the given index, or returns it from the
+     * cache
+     */
+    private byte[] decodeBlock(int index) throws IOException {
+        if (index != cachedIndex) {
+            long encodedSize = encodedOffsets[index + 1] - encodedOffsets[index];
+            if (encodedSize > Integer.MAX_VALUE) {
+                throw new IOException(String.format("Block %d is too large to decode.", index));
+            }
+            byte[] encoded = readFully(encodedOffsets[index], (int) encodedSize);
+            byte[] block = BlockFormat.readByteBlock(new ByteArrayInputStream(encoded));
+            if (block == null || block.length != decodedOffsets[index + 1] - decodedOffsets[index]) {
+                throw new IOException(String.format("Block %d does not match the block directory.", index));
+            }
+            cachedBlock = block;
+            cachedIndex = index;
+        }
+        return cachedBlock;
+    }
+
+    /*
+     * Reads the given number of bytes at the given offset of the file without
+     * moving the channel's position
+     */
+    private byte[] readFully(long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("The stream ended before the END marker.");
+            }
+        }
+        return buffer.array();
+    }
+}
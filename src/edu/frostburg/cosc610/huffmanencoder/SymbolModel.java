@@ -0,0 +1,27 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+/**
+ * The units of text that a TextCodec turns into symbols.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public enum SymbolModel {
+
+    /**
+     * Every UTF-16 char is a symbol, so a supplementary character costs two
+     * surrogate symbols
+     */
+    CHAR,
+    /**
+     * Every Unicode code point is a symbol, so a supplementary character
+     * costs one symbol
+     */
+    CODE_POINT,
+    /**
+     * Every byte of the UTF-8 encoding is a symbol, which keeps the alphabet
+     * at 256 symbols however many characters the text uses. Unpaired
+     * surrogates cannot be encoded in UTF-8 and are replaced.
+     */
+    UTF8_BYTE
+}
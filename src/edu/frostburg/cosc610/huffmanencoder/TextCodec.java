@@ -0,0 +1,119 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes text under a choice of SymbolModel.<p>
+ * The text is split into blocks of at most DEFAULT_BLOCK_SIZE chars, never
+ * between the two halves of a surrogate pair, and each block is written as a
+ * HUFFMAN block with its own codebook. Under SymbolModel.CODE_POINT the
+ * symbols are counted by a CodePointHistogram, so text heavy in CJK or emoji
+ * gets one code per character. Under SymbolModel.UTF8_BYTE each block is
+ * encoded as its UTF-8 bytes with the byte alphabet. The same model must be
+ * given to decode.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public final class TextCodec {
+
+    /**
+     * The maximum number of chars in each block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = BlockEncoder.DEFAULT_BLOCK_SIZE;
+
+    private TextCodec() {
+    }
+
+    /**
+     * Encodes the given text as a complete stream
+     *
+     * @param text the text to encode
+     * @param model the units of the text that become symbols
+     * @param out the stream the encoded stream is written to
+     * @return the number of symbols encoded
+     * @throws IOException if the stream cannot be written
+     */
+    public static long encode(CharSequence text, SymbolModel model, OutputStream out) throws IOException {
+        if (text == null || model == null) {
+            throw new IllegalArgumentException("Cannot encode null text or use a null symbol model");
+        }
+        char[] characters = text.toString().toCharArray();
+        BlockFormat.writeStreamHeader(out);
+        long symbols = 0;
+        int begin = 0;
+        while (begin < characters.length) {
+            int end = Math.min(characters.length, begin + DEFAULT_BLOCK_SIZE);
+            //keep surrogate pairs within one block
+            if (end < characters.length && Character.isHighSurrogate(characters[end - 1]) && end - 1 > begin) {
+                --end;
+            }
+            symbols += writeBlock(characters, begin, end, model, out);
+            begin = end;
+        }
+        out.write(BlockFormat.END);
+        return symbols;
+    }
+
+    /**
+     * Decodes a stream written by encode with the same model
+     *
+     * @param in the stream to decode
+     * @param model the model the stream was encoded with
+     * @return the decoded text
+     * @throws IOException if the stream cannot be read or is invalid
+     */
+    public static String decode(InputStream in, SymbolModel model) throws IOException {
+        if (model == null) {
+            throw new IllegalArgumentException("Cannot decode with a null symbol model");
+        }
+        BlockFormat.readStreamHeader(in);
+        StringBuilder builder = new StringBuilder();
+        while (true) {
+            switch (model) {
+                case CHAR:
+                    char[] characters = BlockFormat.readBlock(in);
+                    if (characters == null) {
+                        return builder.toString();
+                    }
+                    builder.append(characters);
+                    break;
+                case CODE_POINT:
+                    int[] codePoints = BlockFormat.readCodePointBlock(in);
+                    if (codePoints == null) {
+                        return builder.toString();
+                    }
+                    for (int codePoint : codePoints) {
+                        builder.appendCodePoint(codePoint);
+                    }
+                    break;
+                default:
+                    byte[] bytes = BlockFormat.readByteBlock(in);
+                    if (bytes == null) {
+                        return builder.toString();
+                    }
+                    builder.append(new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /*
+     * Writes one block of text under the given model
+     * @return the number of symbols encoded
+     */
+    private static int writeBlock(char[] characters, int begin, int end, SymbolModel model, OutputStream out) throws IOException {
+        switch (model) {
+            case CHAR:
+                BlockFormat.writeBlock(characters, begin, end, out);
+                return end - begin;
+            case CODE_POINT:
+                return BlockFormat.writeCodePointBlock(characters, begin, end, out);
+            default:
+                return BlockFormat.writeByteBlock(StandardCharsets.UTF_8.encode(CharBuffer.wrap(characters, begin, end - begin)), out);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+/**
+ * The algorithms a HuffmanEncoder can use to derive code lengths from a
+ * frequency table. Both produce optimal codes; they may break ties
+ * differently.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public enum TreeBuilder {
+
+    /**
+     * Builds a linked HuffmanTree by repeatedly merging the two lowest
+     * priority trees, which are kept in an IntHeap
+     */
+    HEAP,
+    /**
+     * Sorts the symbols once and merges them with the linear two-queue
+     * algorithm over primitive arrays, without allocating any nodes
+     */
+    TWO_QUEUE
+}
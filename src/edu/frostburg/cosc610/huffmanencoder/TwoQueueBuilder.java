@@ -0,0 +1,93 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.util.Arrays;
+
+/**
+ * Computes Huffman code lengths with the two-queue algorithm.<p>
+ * Once the symbols are sorted by frequency, the lowest weight item is always
+ * at the front of either the sorted leaves or the internal nodes, because
+ * internal nodes are created in order of increasing weight. The tree is
+ * therefore built in linear time, directly into the arrays of an
+ * ArrayHuffmanTree.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+final class TwoQueueBuilder {
+
+    private TwoQueueBuilder() {
+    }
+
+    /**
+     * Builds an ArrayHuffmanTree for the given frequency table
+     *
+     * @param frequencies the frequency of each symbol
+     * @return the tree
+     */
+    static ArrayHuffmanTree build(int[] frequencies) {
+        long[] sorted = sort(frequencies);
+        int n = sorted.length;
+        int size = Math.max(0, 2 * n - 1);
+        int[] symbols = new int[n];
+        long[] weights = new long[size];
+        for (int i = 0; i < n; ++i) {
+            symbols[i] = (int) sorted[i];
+            weights[i] = sorted[i] >>> 32;
+        }
+        int[] parents = new int[size];
+        int[] children = new int[Math.max(0, 2 * (n - 1))];
+        int leaf = 0;
+        int internal = n;
+        for (int node = n; node < size; ++node) {
+            int left = leaf < n && (internal == node || weights[leaf] <= weights[internal]) ? leaf++ : internal++;
+            int right = leaf < n && (internal == node || weights[leaf] <= weights[internal]) ? leaf++ : internal++;
+            weights[node] = weights[left] + weights[right];
+            parents[left] = node;
+            parents[right] = node;
+            children[2 * (node - n)] = left;
+            children[2 * (node - n) + 1] = right;
+        }
+        return new ArrayHuffmanTree(frequencies.length, symbols, weights, parents, children);
+    }
+
+    /**
+     * Computes the Huffman code length of each symbol
+     *
+     * @param frequencies the frequency of each symbol
+     * @return the code length of each symbol; 0 for symbols with a frequency of
+     * 0 and 1 for a lone symbol
+     */
+    static int[] lengths(int[] frequencies) {
+        ArrayHuffmanTree tree = build(frequencies);
+        int[] lengths = tree.getCodeLengths();
+        if (tree.size() == 1) {
+            lengths[tree.getSymbol(0)] = 1;
+        }
+        return lengths;
+    }
+
+    /**
+     * Sorts the symbols with a non-zero frequency by increasing frequency
+     *
+     * @param frequencies the frequency of each symbol
+     * @return the used symbols in order, each packed as frequency &lt;&lt; 32 |
+     * symbol
+     */
+    static long[] sort(int[] frequencies) {
+        int n = 0;
+        for (int frequency : frequencies) {
+            if (frequency != 0) {
+                ++n;
+            }
+        }
+        long[] sorted = new long[n];
+        n = 0;
+        for (int i = 0; i < frequencies.length; ++i) {
+            if (frequencies[i] != 0) {
+                sorted[n++] = (long) frequencies[i] << 32 | i;
+            }
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
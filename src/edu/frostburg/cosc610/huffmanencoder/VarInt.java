@@ -0,0 +1,96 @@
+package edu.frostburg.cosc610.huffmanencoder;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Reads and writes unsigned variable-length integers. Each byte holds seven
+ * bits of the value, least significant group first, and the high bit is set on
+ * every byte except the last.
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+final class VarInt {
+
+    private VarInt() {
+    }
+
+    /**
+     * Writes the given non-negative value
+     *
+     * @param out the stream to write to
+     * @param value the value to write
+     * @throws IOException if the stream cannot be written
+     */
+    static void write(OutputStream out, long value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Cannot write a negative variable-length integer");
+        }
+        while (value >= 0x80) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Gets the number of bytes write(OutputStream, long) uses for the given
+     * non-negative value
+     *
+     * @param value the value
+     * @return the encoded size of the value in bytes
+     */
+    static int size(long value) {
+        return Math.max(1, (70 - Long.numberOfLeadingZeros(value)) / 7);
+    }
+
+    /**
+     * Reads a value written by write(OutputStream, long)
+     *
+     * @param in the stream to read from
+     * @return the value read, which is negative if the tenth byte sets bit 63
+     * @throws IOException if the stream cannot be read, ends early, or the
+     * value does not fit in a long
+     */
+    static long read(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("The stream ended inside a variable-length integer.");
+            }
+            //the tenth byte holds only bit 63 and cannot continue
+            if (shift == 63 && b > 1) {
+                throw new IOException("The variable-length integer is too long.");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("The variable-length integer is too long.");
+    }
+
+    /**
+     * Reads a value written by write(OutputStream, long) that must fit in an
+     * int
+     *
+     * @param in the stream to read from
+     * @return the value read
+     * @throws IOException if the stream cannot be read, ends early, or the
+     * value is negative or does not fit in an int
+     */
+    static int readInt(InputStream in) throws IOException {
+        long value = read(in);
+        if (value < 0) {
+            throw new IOException(String.format("%d is not a valid value for this field.", value));
+        }
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException(String.format("%d is too large for this field.", value));
+        }
+        return (int) value;
+    }
+}
@@ -0,0 +1,121 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.AdaptiveDecoder;
+import edu.frostburg.cosc610.huffmanencoder.AdaptiveEncoder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.Reader;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A test class for the AdaptiveEncoder and AdaptiveDecoder
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class AdaptiveEncoderTest {
+
+    public static void main(String[] args) throws Exception {
+        roundTripTest("", AdaptiveEncoder.DEFAULT_ALPHABET_SIZE, AdaptiveEncoder.DEFAULT_INTERVAL);
+        //chars outside the alphabet are escaped
+        roundTripTest("naïve café あいう ￿", 128, 1);
+        Random random = new Random(15);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200000; ++i) {
+            //the distribution changes halfway through
+            builder.append((char) (i < 100000 ? 'a' + Math.min(25, (int) Math.abs(random.nextGaussian() * 4)) : '0' + random.nextInt(10)));
+        }
+        String text = builder.toString();
+        byte[] encoded = roundTripTest(text, AdaptiveEncoder.DEFAULT_ALPHABET_SIZE, AdaptiveEncoder.DEFAULT_INTERVAL);
+        assert (encoded.length < text.length() / 2);
+        roundTripTest(text.substring(0, 20000), 65536, 100);
+        flushTest();
+        liveTest();
+        System.out.println("AdaptiveEncoder tests passed");
+    }
+
+    public static byte[] roundTripTest(String text, int alphabetSize, int interval) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (AdaptiveEncoder encoder = new AdaptiveEncoder(bytes, alphabetSize, interval)) {
+            //write in uneven pieces to cross rebuilds mid-call
+            for (int i = 0; i < text.length(); i += 777) {
+                encoder.write(text, i, Math.min(777, text.length() - i));
+            }
+            assert (encoder.getInputSize() == text.length());
+        }
+        StringBuilder decoded = new StringBuilder();
+        try (Reader decoder = new AdaptiveDecoder(new ByteArrayInputStream(bytes.toByteArray()))) {
+            char[] buffer = new char[1000];
+            int charsRead = decoder.read(buffer);
+            while (charsRead != -1) {
+                decoded.append(buffer, 0, charsRead);
+                charsRead = decoder.read(buffer);
+            }
+        }
+        assert (text.equals(decoded.toString()));
+        return bytes.toByteArray();
+    }
+
+    public static void flushTest() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AdaptiveEncoder encoder = new AdaptiveEncoder(bytes);
+        encoder.write("a line of a log that is still being written\n");
+        encoder.flush();
+        //the codes are available before the stream is closed
+        int flushed = bytes.size();
+        assert (flushed > 20);
+        encoder.write("the next line\n");
+        encoder.flush();
+        encoder.close();
+        assert (bytes.size() >= flushed);
+        //the flush markers are skipped and do not disturb the model
+        Reader decoder = new AdaptiveDecoder(new ByteArrayInputStream(bytes.toByteArray()));
+        StringBuilder decoded = new StringBuilder();
+        char[] buffer = new char[1000];
+        int charsRead = decoder.read(buffer);
+        while (charsRead != -1) {
+            decoded.append(buffer, 0, charsRead);
+            charsRead = decoder.read(buffer);
+        }
+        assert ("a line of a log that is still being written\nthe next line\n".equals(decoded.toString()));
+    }
+
+    public static void liveTest() throws Exception {
+        PipedInputStream in = new PipedInputStream(1 << 16);
+        AdaptiveEncoder encoder = new AdaptiveEncoder(new PipedOutputStream(in), 128, 16);
+        final Reader decoder = new AdaptiveDecoder(in);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < 50; ++i) {
+                final String line = "request " + i + " served\n";
+                encoder.write(line);
+                encoder.flush();
+                //the line must arrive while the encoder is still open and idle
+                Future<String> received = reader.submit(() -> {
+                    char[] buffer = new char[line.length()];
+                    int n = 0;
+                    while (n < buffer.length) {
+                        int charsRead = decoder.read(buffer, n, buffer.length - n);
+                        if (charsRead < 0) {
+                            break;
+                        }
+                        n += charsRead;
+                    }
+                    return new String(buffer, 0, n);
+                });
+                assert (line.equals(received.get(10, TimeUnit.SECONDS)));
+            }
+            encoder.close();
+            assert (reader.submit(() -> decoder.read()).get(10, TimeUnit.SECONDS) == -1);
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.ArrayHuffmanTree;
+import edu.frostburg.cosc610.huffmanencoder.HuffmanTree;
+import java.util.Map;
+
+/**
+ * A test class for the ArrayHuffmanTree
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class ArrayHuffmanTreeTest {
+
+    public static void main(String[] args) {
+        structureTest();
+        deepTreeTest();
+        System.out.println("ArrayHuffmanTree tests passed");
+    }
+
+    public static void structureTest() {
+        int[] frequencies = new int[256];
+        frequencies['a'] = 5;
+        frequencies['b'] = 9;
+        frequencies['c'] = 12;
+        frequencies['d'] = 13;
+        frequencies['e'] = 16;
+        frequencies['f'] = 45;
+        ArrayHuffmanTree tree = ArrayHuffmanTree.build(frequencies);
+        assert (tree.size() == 11);
+        assert (tree.getPriority() == 100);
+        assert (tree.getParent(tree.getRoot()) == -1);
+        int[] lengths = tree.getCodeLengths();
+        assert (lengths['f'] == 1);
+        assert (lengths['a'] == 4 && lengths['b'] == 4);
+        Map<Integer, String> map = tree.getMap();
+        for (Map.Entry<Integer, String> pair : map.entrySet()) {
+            assert (pair.getValue().length() == lengths[pair.getKey()]);
+        }
+    }
+
+    public static void deepTreeTest() {
+        //a chain this deep would overflow the stack of a recursive traversal
+        HuffmanTree<Integer> tree = new HuffmanTree<>(0, 0);
+        for (int i = 1; i < 100000; ++i) {
+            tree = new HuffmanTree<>(tree, new HuffmanTree<>(i, 0));
+        }
+        assert (tree.getCodeLengths().get(0) == 99999);
+    }
+}
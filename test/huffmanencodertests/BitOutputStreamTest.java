@@ -0,0 +1,49 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.BitOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * A test class for the BitOutputStream
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class BitOutputStreamTest {
+
+    public static void main(String[] args) throws IOException {
+        packingTest();
+        paddingTest();
+    }
+
+    public static void packingTest() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BitOutputStream out = new BitOutputStream(bytes)) {
+            out.write(0b101, 3);
+            out.write(0b00110, 5);
+            out.write(0xABCD, 16);
+            assert (out.getBitCount() == 24);
+        }
+        byte[] result = bytes.toByteArray();
+        assert (result.length == 3);
+        assert ((result[0] & 0xFF) == 0b10100110);
+        assert ((result[1] & 0xFF) == 0xAB);
+        assert ((result[2] & 0xFF) == 0xCD);
+    }
+
+    public static void paddingTest() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BitOutputStream out = new BitOutputStream(bytes);
+        for (int i = 0; i < 11; ++i) {
+            out.writeBit(1);
+        }
+        assert (out.getByteCount() == 2);
+        out.close();
+        byte[] result = bytes.toByteArray();
+        assert (result.length == 2);
+        assert ((result[0] & 0xFF) == 0xFF);
+        assert ((result[1] & 0xFF) == 0xE0);
+        System.out.println("BitOutputStream tests passed");
+    }
+}
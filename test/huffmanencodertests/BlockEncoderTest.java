@@ -0,0 +1,118 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.BlockDecoder;
+import edu.frostburg.cosc610.huffmanencoder.BlockEncoder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+/**
+ * A test class for the BlockEncoder and BlockDecoder
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class BlockEncoderTest {
+
+    public static void main(String[] args) throws IOException {
+        for (boolean interleaved : new boolean[]{false, true}) {
+            roundTripTest(1 << 20, interleaved);
+            roundTripTest(1000, interleaved);
+            //blocks shorter than the number of substreams leave some of them empty
+            roundTripTest(3, interleaved);
+            roundTripTest(1, interleaved);
+        }
+        emptyTest();
+        for (boolean interleaved : new boolean[]{false, true}) {
+            incompressibleTest(interleaved);
+            runTest(interleaved);
+        }
+        truncatedRunTest();
+        System.out.println("BlockEncoder tests passed");
+    }
+
+    public static void roundTripTest(int blockSize, boolean interleaved) throws IOException {
+        Random random = new Random(7);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20000; ++i) {
+            //mix in characters above 255 so the 16-bit alphabet is exercised
+            builder.append(random.nextInt(10) == 0 ? (char) (0x400 + random.nextInt(64)) : (char) ('a' + random.nextInt(8)));
+        }
+        String text = builder.toString();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BlockEncoder encoder = new BlockEncoder(bytes, blockSize, interleaved);
+        encoder.write(new StringReader(text));
+        encoder.close();
+        assert (encoder.getInputSize() == text.length());
+        assert (decode(bytes.toByteArray()).equals(text));
+    }
+
+    public static void emptyTest() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new BlockEncoder(bytes).close();
+        assert (decode(bytes.toByteArray()).isEmpty());
+    }
+
+    public static void incompressibleTest(boolean interleaved) throws IOException {
+        //every char is equally likely, so a codebook can only add to the size
+        Random random = new Random(11);
+        char[] characters = new char[30000];
+        for (int i = 0; i < characters.length; ++i) {
+            characters[i] = (char) random.nextInt(65536);
+        }
+        String text = new String(characters);
+        byte[] encoded = encode(text, 10000, interleaved);
+        assert (encoded.length <= 2 * characters.length + 32);
+        assert (decode(encoded).equals(text));
+    }
+
+    public static void runTest(boolean interleaved) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; ++i) {
+            for (int j = 0; j < 1000; ++j) {
+                builder.append((char) ('a' + i % 3));
+            }
+        }
+        String text = builder.toString();
+        byte[] encoded = encode(text, 1 << 20, interleaved);
+        //a run costs a few bytes where codes would cost at least one bit per char
+        assert (encoded.length < 400);
+        assert (decode(encoded).equals(text));
+    }
+
+    public static void truncatedRunTest() throws IOException {
+        //RUN blocks claiming about 1G and 2G chars, followed by a single short run
+        for (int top : new int[]{0x03, 0x07}) {
+            byte[] corrupt = {7, (byte) 0xF7, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) top, 'a', 2};
+            try {
+                decode(corrupt);
+                assert (false);
+            } catch (IOException ex) {
+                //expected
+            }
+        }
+    }
+
+    private static byte[] encode(String text, int blockSize, boolean interleaved) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BlockEncoder encoder = new BlockEncoder(bytes, blockSize, interleaved);
+        encoder.write(text);
+        encoder.close();
+        return bytes.toByteArray();
+    }
+
+    private static String decode(byte[] bytes) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        try (BlockDecoder decoder = new BlockDecoder(new ByteArrayInputStream(bytes))) {
+            char[] buffer = new char[777];
+            int charsRead = decoder.read(buffer);
+            while (charsRead != -1) {
+                builder.append(buffer, 0, charsRead);
+                charsRead = decoder.read(buffer);
+            }
+        }
+        return builder.toString();
+    }
+}
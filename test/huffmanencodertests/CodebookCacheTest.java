@@ -0,0 +1,92 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.Codebook;
+import edu.frostburg.cosc610.huffmanencoder.CodebookCache;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A test class for the CodebookCache
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class CodebookCacheTest {
+
+    public static void main(String[] args) throws Exception {
+        List<String> corpus = Arrays.asList("the quick brown fox", "jumps over the lazy dog", "the end");
+        Codebook codebook = CodebookCache.train(corpus, 128, 15);
+        assert (codebook.getSymbolCount() == 128);
+        assert (codebook.getMaxLength() <= 15);
+        Path directory = Files.createTempDirectory("codebooks");
+        try {
+            CodebookCache cache = new CodebookCache(directory, 1);
+            cache.store(3, codebook);
+            cache.store(4, CodebookCache.train(corpus, 256, 20));
+            //a new cache must load both codebooks from the directory
+            CodebookCache loaded = new CodebookCache(directory, 1);
+            roundTripTest(cache, loaded, 3, "the lazy fox");
+            roundTripTest(cache, loaded, 4, "");
+            //chars that were not in the corpus still have codes
+            roundTripTest(cache, loaded, 3, "ZZZ~\u007f");
+            assert (loaded.getEncoder(3) == loaded.getEncoder(3));
+            boolean missing = false;
+            try {
+                loaded.getDecoder(5);
+            } catch (IOException ex) {
+                missing = true;
+            }
+            assert (missing);
+            concurrencyTest(directory, corpus);
+        } finally {
+            for (int id = 3; id <= 8; ++id) {
+                Files.deleteIfExists(directory.resolve(String.format("codebook-%d.bin", id)));
+            }
+            Files.delete(directory);
+        }
+        System.out.println("CodebookCache tests passed");
+    }
+
+    public static void concurrencyTest(Path directory, List<String> corpus) throws Exception {
+        CodebookCache store = new CodebookCache(directory, 4);
+        for (int id = 5; id <= 8; ++id) {
+            store.store(id, CodebookCache.train(corpus, 128, 7 + id));
+        }
+        //more codebooks than the cache holds, so threads load and evict while others encode
+        final CodebookCache cache = new CodebookCache(directory, 2);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; ++t) {
+                final int seed = t;
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 2000; ++i) {
+                        int id = 5 + (seed + i) % 4;
+                        String message = "message " + i + " from " + seed;
+                        if (!message.equals(cache.decode(cache.encode(id, message)))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assert (result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static void roundTripTest(CodebookCache encoding, CodebookCache decoding, int id, String message) throws IOException {
+        byte[] encoded = encoding.encode(id, message);
+        assert (message.equals(decoding.decode(encoded)));
+    }
+}
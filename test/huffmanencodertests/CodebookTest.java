@@ -0,0 +1,77 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.Codebook;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A test class for the Codebook
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class CodebookTest {
+
+    public static void main(String[] args) throws IOException {
+        canonicalTest();
+        serializationTest();
+        sparseTest();
+        System.out.println("Codebook tests passed");
+    }
+
+    public static void canonicalTest() {
+        int[] lengths = new int[256];
+        lengths['a'] = 2;
+        lengths['b'] = 1;
+        lengths['c'] = 3;
+        lengths['d'] = 3;
+        Codebook codebook = new Codebook(lengths);
+        assert ("0".equals(codebook.getCodeString('b')));
+        assert ("10".equals(codebook.getCodeString('a')));
+        assert ("110".equals(codebook.getCodeString('c')));
+        assert ("111".equals(codebook.getCodeString('d')));
+        assert (codebook.getCodeString('e') == null);
+    }
+
+    public static void serializationTest() throws IOException {
+        int[] lengths = new int[65536];
+        for (int i = 0; i < 256; ++i) {
+            lengths[i * 200] = 8;
+        }
+        Codebook codebook = new Codebook(lengths);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codebook.write(bytes);
+        assert (bytes.size() < 1024);
+        Codebook read = Codebook.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assert (read.getSymbolCount() == 256);
+        for (int i = 0; i < 256; ++i) {
+            assert (read.getCode(i * 200) == codebook.getCode(i * 200));
+            assert (read.getLength(i * 200) == 8);
+        }
+    }
+
+    public static void sparseTest() throws IOException {
+        //two symbols at opposite ends of the code point range
+        Codebook codebook = new Codebook(new int[]{'a', Character.MAX_CODE_POINT}, new int[]{1, 1});
+        assert (codebook.getAlphabetSize() == Character.MAX_CODE_POINT + 1);
+        assert (codebook.getSymbolCount() == 2);
+        assert ("0".equals(codebook.getCodeString('a')));
+        assert ("1".equals(codebook.getCodeString(Character.MAX_CODE_POINT)));
+        assert (codebook.getLength('b') == 0 && codebook.getLength(0x10000) == 0 && codebook.getLength(-1) == 0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codebook.write(bytes);
+        Codebook read = Codebook.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assert (Arrays.equals(new int[]{'a', Character.MAX_CODE_POINT}, read.getSymbols()));
+        assert (read.getCode(Character.MAX_CODE_POINT) == 1);
+        for (int[] symbols : new int[][]{{'b', 'a'}, {'a', 'a'}, {-1, 'a'}, {'a', Character.MAX_CODE_POINT + 1}}) {
+            try {
+                new Codebook(symbols, new int[]{1, 1});
+                assert (false);
+            } catch (IllegalArgumentException ex) {
+                //expected
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.BlockDecoder;
+import edu.frostburg.cosc610.huffmanencoder.BlockEncoder;
+import edu.frostburg.cosc610.huffmanencoder.CodebookCache;
+import edu.frostburg.cosc610.huffmanencoder.CodecMetrics;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * A test class for the CodecMetrics
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class CodecMetricsTest {
+
+    private static final CodecMetrics metrics = CodecMetrics.getInstance();
+
+    public static void main(String[] args) throws IOException, JMException {
+        codingTest();
+        cacheTest();
+        registerTest();
+        System.out.println("CodecMetrics tests passed");
+    }
+
+    public static void codingTest() throws IOException {
+        metrics.reset();
+        Random random = new Random(23);
+        char[] characters = new char[50000];
+        for (int i = 0; i < characters.length; ++i) {
+            characters[i] = (char) ('a' + Math.min(25, (int) Math.abs(random.nextGaussian() * 5)));
+        }
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        BlockEncoder encoder = new BlockEncoder(encoded, 20000);
+        encoder.write(characters);
+        encoder.close();
+        assert (metrics.getBlocksEncoded() == 3);
+        assert (metrics.getBlocksUncoded() == 0);
+        assert (metrics.getBytesIn() == 2L * characters.length);
+        //only the stream header and END marker are written outside the blocks
+        assert (metrics.getBytesOut() == encoded.size() - 5);
+        assert (metrics.getCompressionRatio() > 0 && metrics.getCompressionRatio() < 0.5);
+        //Huffman codes are within one bit of the entropy
+        assert (metrics.getEntropy() > 1);
+        assert (metrics.getAverageCodeLength() >= metrics.getEntropy());
+        assert (metrics.getAverageCodeLength() < metrics.getEntropy() + 1);
+        assert (metrics.getHistogramNanos() > 0 && metrics.getTreeBuildNanos() > 0 && metrics.getEncodeNanos() > 0);
+        char[] decoded = new char[characters.length];
+        try (BlockDecoder decoder = new BlockDecoder(new ByteArrayInputStream(encoded.toByteArray()))) {
+            int n = 0;
+            while (n < decoded.length) {
+                n += decoder.read(decoded, n, decoded.length - n);
+            }
+        }
+        assert (Arrays.equals(characters, decoded));
+        assert (metrics.getBlocksDecoded() == 3);
+        assert (metrics.getBytesDecoded() == 2L * characters.length);
+        assert (metrics.getDecodeNanos() > 0);
+        metrics.reset();
+        assert (metrics.getBytesIn() == 0 && metrics.getCompressionRatio() == 0 && metrics.getEntropy() == 0);
+    }
+
+    public static void cacheTest() throws IOException {
+        metrics.reset();
+        Path directory = Files.createTempDirectory("codebooks");
+        Path file = directory.resolve("codebook-1.bin");
+        try {
+            new CodebookCache(directory, 4).store(1, CodebookCache.train(Arrays.asList("metrics"), 128, 15));
+            CodebookCache cache = new CodebookCache(directory, 4);
+            cache.getEncoder(1);
+            cache.getDecoder(1);
+            cache.getEncoder(1);
+            assert (metrics.getCacheMisses() == 1);
+            assert (metrics.getCacheHits() == 2);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    public static void registerTest() throws JMException {
+        ObjectName name = CodecMetrics.register();
+        assert (CodecMetrics.register().equals(name));
+        metrics.reset();
+        Object hits = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "CacheHits");
+        assert (Long.valueOf(0).equals(hits));
+    }
+}
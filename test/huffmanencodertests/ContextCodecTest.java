@@ -0,0 +1,65 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.ContextCodec;
+import edu.frostburg.cosc610.huffmanencoder.MappedFileCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A test class for the ContextCodec
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class ContextCodecTest {
+
+    public static void main(String[] args) throws IOException {
+        roundTripTest(new byte[0], ContextCodec.DEFAULT_BLOCK_SIZE);
+        roundTripTest(new byte[]{42}, ContextCodec.DEFAULT_BLOCK_SIZE);
+        byte[] log = logLines();
+        byte[] encoded = roundTripTest(log, ContextCodec.DEFAULT_BLOCK_SIZE);
+        roundTripTest(log, 1000);
+        //order-1 tables must beat a single order-0 table on correlated text
+        Path file = Files.createTempFile("context", ".log");
+        try {
+            Files.write(file, log);
+            ByteArrayOutputStream order0 = new ByteArrayOutputStream();
+            MappedFileCodec.encode(file, order0);
+            assert (encoded.length < order0.size() * 9 / 10);
+        } finally {
+            Files.delete(file);
+        }
+        System.out.println("ContextCodec tests passed");
+    }
+
+    public static byte[] roundTripTest(byte[] bytes, int blockSize) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        ContextCodec.encode(buffer, blockSize, encoded);
+        assert (!buffer.hasRemaining());
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        long size = ContextCodec.decode(new ByteArrayInputStream(encoded.toByteArray()), decoded);
+        assert (size == bytes.length);
+        assert (Arrays.equals(bytes, decoded.toByteArray()));
+        return encoded.toByteArray();
+    }
+
+    private static byte[] logLines() {
+        Random random = new Random(18);
+        String[] levels = {"INFO", "WARN", "DEBUG", "ERROR"};
+        String[] paths = {"/api/users", "/api/orders", "/health", "/static/app.js"};
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20000; ++i) {
+            builder.append(String.format("{\"ts\":%d,\"level\":\"%s\",\"path\":\"%s\",\"status\":%d,\"ms\":%d}%n",
+                    1700000000 + i, levels[random.nextInt(4)], paths[random.nextInt(4)], random.nextInt(5) == 0 ? 404 : 200, random.nextInt(900)));
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
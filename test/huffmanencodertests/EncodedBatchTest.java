@@ -0,0 +1,143 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.BitInputStream;
+import edu.frostburg.cosc610.huffmanencoder.BitOutputStream;
+import edu.frostburg.cosc610.huffmanencoder.EncodedBatch;
+import edu.frostburg.cosc610.huffmanencoder.HuffmanDecoder;
+import edu.frostburg.cosc610.huffmanencoder.HuffmanEncoder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A test class for the batch encode methods of the HuffmanEncoder and the
+ * EncodedBatch
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class EncodedBatchTest {
+
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(25);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; ++i) {
+            //short keys, including empty ones and a few long ones
+            char[] key = new char[i % 100 == 0 ? 3000 : random.nextInt(20)];
+            for (int j = 0; j < key.length; ++j) {
+                key[j] = (char) ('a' + Math.min(25, (int) Math.abs(random.nextGaussian() * 5)));
+            }
+            keys.add(new String(key));
+        }
+        int[] frequencies = new int[128];
+        for (String key : keys) {
+            for (int i = 0; i < key.length(); ++i) {
+                ++frequencies[key.charAt(i)];
+            }
+        }
+        HuffmanEncoder encoder = new HuffmanEncoder(frequencies);
+        listTest(encoder, keys);
+        arrayTest(encoder, keys);
+        reuseTest(encoder, keys);
+        invalidTest(encoder);
+        System.out.println("EncodedBatch tests passed");
+    }
+
+    public static void listTest(HuffmanEncoder encoder, List<String> keys) throws IOException {
+        EncodedBatch batch = new EncodedBatch(16, 4);
+        encoder.encode(keys, batch);
+        check(encoder, keys, batch);
+    }
+
+    public static void arrayTest(HuffmanEncoder encoder, List<String> keys) throws IOException {
+        StringBuilder all = new StringBuilder();
+        int[] offsets = new int[keys.size() + 1];
+        for (int i = 0; i < keys.size(); ++i) {
+            all.append(keys.get(i));
+            offsets[i + 1] = all.length();
+        }
+        EncodedBatch batch = new EncodedBatch();
+        encoder.encode(all.toString().toCharArray(), offsets, keys.size(), batch);
+        check(encoder, keys, batch);
+        EncodedBatch fromList = new EncodedBatch();
+        encoder.encode(keys, fromList);
+        assert (Arrays.equals(Arrays.copyOf(batch.getBuffer(), batch.getByteCount()), Arrays.copyOf(fromList.getBuffer(), fromList.getByteCount())));
+    }
+
+    public static void reuseTest(HuffmanEncoder encoder, List<String> keys) throws IOException {
+        EncodedBatch batch = new EncodedBatch();
+        encoder.encode(keys.subList(0, 10), batch);
+        //a second batch is appended after the first
+        encoder.encode(keys.subList(10, 20), batch);
+        assert (batch.size() == 20);
+        check(encoder, keys.subList(0, 20), batch);
+        batch.clear();
+        encoder.encode(keys, batch);
+        byte[] buffer = batch.getBuffer();
+        int[] offsets = batch.getOffsets();
+        batch.clear();
+        encoder.encode(keys, batch);
+        //once grown, the arrays are reused
+        assert (buffer == batch.getBuffer() && offsets == batch.getOffsets());
+        check(encoder, keys, batch);
+    }
+
+    public static void invalidTest(HuffmanEncoder encoder) {
+        EncodedBatch batch = new EncodedBatch();
+        encoder.encode(Arrays.asList("ab", "c"), batch);
+        try {
+            encoder.encode(Arrays.asList("ab", "A", "c"), batch);
+            assert (false);
+        } catch (IllegalArgumentException ex) {
+            //the record before the invalid one was kept
+            assert (batch.size() == 3);
+        }
+        try {
+            encoder.encode("abc".toCharArray(), new int[]{0, 2, 4}, 2, batch);
+            assert (false);
+        } catch (IllegalArgumentException ex) {
+            //expected
+        }
+        try {
+            encoder.encode("abc".toCharArray(), new int[]{0, 2}, 2, batch);
+            assert (false);
+        } catch (IllegalArgumentException ex) {
+            //expected
+        }
+        try {
+            batch.getLength(batch.size());
+            assert (false);
+        } catch (IndexOutOfBoundsException ex) {
+            //expected
+        }
+    }
+
+    /*
+     * Checks that every record matches the codes written by a BitOutputStream
+     * and decodes back to its key
+     */
+    private static void check(HuffmanEncoder encoder, List<String> keys, EncodedBatch batch) throws IOException {
+        HuffmanDecoder decoder = new HuffmanDecoder(encoder);
+        assert (batch.size() == keys.size());
+        int total = 0;
+        for (int i = 0; i < keys.size(); ++i) {
+            char[] key = keys.get(i).toCharArray();
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            try (BitOutputStream out = new BitOutputStream(expected)) {
+                encoder.encode(key, 0, key.length, out);
+            }
+            byte[] record = batch.toByteArray(i);
+            assert (Arrays.equals(expected.toByteArray(), record));
+            assert (batch.getLength(i) == record.length);
+            char[] decoded = new char[key.length];
+            decoder.decode(new BitInputStream(new ByteArrayInputStream(record)), decoded, decoded.length);
+            assert (Arrays.equals(key, decoded));
+            total += record.length;
+        }
+        assert (batch.getByteCount() == total);
+    }
+}
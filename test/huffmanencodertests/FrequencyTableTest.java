@@ -0,0 +1,92 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.FrequencyTable;
+import edu.frostburg.cosc610.huffmanencoder.HuffmanEncoder;
+import edu.frostburg.cosc610.huffmanencoder.TreeBuilder;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * A test class for the FrequencyTable
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class FrequencyTableTest {
+
+    public static void main(String[] args) throws IOException {
+        sparseTest();
+        encoderTest();
+        expansionTest();
+        System.out.println("FrequencyTable tests passed");
+    }
+
+    public static void sparseTest() {
+        FrequencyTable table = new FrequencyTable();
+        assert (table.getAlphabetSize() == 0);
+        assert (table.getSymbols().length == 0);
+        table.add('a');
+        table.add('a');
+        table.add('中');
+        table.add(0x1F600, 3);
+        assert (table.getDistinctCount() == 3);
+        assert (table.getTotal() == 6);
+        assert (table.getAlphabetSize() == 0x1F601);
+        assert (Arrays.equals(table.getSymbols(), new int[]{'a', '中', 0x1F600}));
+        assert (table.get('a') == 2 && table.get('b') == 0 && table.get(-1) == 0);
+        FrequencyTable copy = new FrequencyTable(table);
+        copy.add('b');
+        assert (table.get('b') == 0 && copy.get('b') == 1);
+        int[] dense = new int[300];
+        dense[5] = 7;
+        dense[299] = 1;
+        assert (Arrays.equals(FrequencyTable.of(dense).toArray(), dense));
+    }
+
+    public static void encoderTest() {
+        //a dense table and its sparse copy give the same codes
+        int[] dense = new int[65536];
+        FrequencyTable table = new FrequencyTable();
+        for (int i = 0; i < 300; ++i) {
+            char c = (char) (i * 211 % 65536);
+            dense[c] = 1 + i % 13;
+            table.add(c, 1 + i % 13);
+        }
+        HuffmanEncoder denseEncoder = new HuffmanEncoder(dense, 56, TreeBuilder.TWO_QUEUE);
+        HuffmanEncoder sparseEncoder = new HuffmanEncoder(table, 56, TreeBuilder.TWO_QUEUE);
+        assert (denseEncoder.getMap().equals(sparseEncoder.getMap()));
+        assert (denseEncoder.getSymbolCount() == table.getTotal());
+        //a symbol above the range of char has a code but no map key
+        table.add(0x1F600, 1);
+        HuffmanEncoder codePointEncoder = new HuffmanEncoder(table, 56, TreeBuilder.TWO_QUEUE);
+        assert (codePointEncoder.getCodebook().getLength(0x1F600) != 0);
+        try {
+            codePointEncoder.getMap();
+            assert (false);
+        } catch (IllegalStateException ex) {
+            //expected
+        }
+    }
+
+    public static void expansionTest() throws IOException {
+        //the file is read in the platform charset, which must be able to hold a char above 255
+        if (!Charset.defaultCharset().newEncoder().canEncode('中')) {
+            return;
+        }
+        //chars counted before the first char above 255 must survive the expansion
+        Path file = Files.createTempFile("frequencies", ".txt");
+        try {
+            Files.write(file, Collections.singletonList("aaab中"), Charset.defaultCharset());
+            HuffmanEncoder encoder = new HuffmanEncoder(file.toString());
+            assert (encoder.getCodebook().getLength('a') != 0);
+            assert (encoder.getCodebook().getLength('中') != 0);
+            assert (encoder.getStatistics().contains("20013"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
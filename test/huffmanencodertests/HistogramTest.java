@@ -0,0 +1,100 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.Histogram;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A test class for the Histogram
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class HistogramTest {
+
+    public static void main(String[] args) throws IOException {
+        charTest();
+        byteTest();
+        pairTest();
+        scaleTest();
+        System.out.println("Histogram tests passed");
+    }
+
+    public static void charTest() {
+        Random random = new Random(1);
+        char[] characters = new char[5000];
+        int[] expected = new int[256];
+        for (int i = 0; i < characters.length; ++i) {
+            characters[i] = (char) random.nextInt(40);
+        }
+        for (int i = 3; i < characters.length - 2; ++i) {
+            expected[characters[i]]++;
+        }
+        int[] frequencies = new int[256];
+        Histogram.count(characters, 3, characters.length - 2, frequencies);
+        assert (Arrays.equals(expected, frequencies));
+    }
+
+    public static void byteTest() throws IOException {
+        Random random = new Random(2);
+        byte[] bytes = new byte[100003];
+        random.nextBytes(bytes);
+        int[] expected = new int[256];
+        for (byte b : bytes) {
+            expected[b & 0xFF]++;
+        }
+        int[] frequencies = new int[256];
+        Histogram.count(ByteBuffer.wrap(bytes), frequencies);
+        assert (Arrays.equals(expected, frequencies));
+        Path file = Files.createTempFile("histogram", ".bin");
+        try {
+            Files.write(file, bytes);
+            assert (Arrays.equals(expected, Histogram.count(file, ForkJoinPool.commonPool())));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    public static void pairTest() {
+        Random random = new Random(3);
+        byte[] bytes = new byte[10005];
+        random.nextBytes(bytes);
+        int[] expected = new int[65536];
+        int previous = 0;
+        for (int i = 5; i < bytes.length; ++i) {
+            expected[previous << 8 | (bytes[i] & 0xFF)]++;
+            previous = bytes[i] & 0xFF;
+        }
+        //the byte order of the buffer must not matter
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes).order(order);
+            buffer.position(5);
+            int[] frequencies = new int[65536];
+            Histogram.countPairs(buffer, frequencies);
+            assert (Arrays.equals(expected, frequencies));
+            assert (buffer.position() == 5);
+        }
+    }
+
+    public static void scaleTest() {
+        long[] small = {0, 5, 7, 0};
+        assert (Arrays.equals(new int[]{0, 5, 7, 0}, Histogram.toFrequencies(small)));
+        //counts of a multi-GB input no longer fit an int
+        long[] large = {6000000000L, 3000000000L, 1, 0};
+        int[] frequencies = Histogram.toFrequencies(large);
+        long total = 0;
+        for (int frequency : frequencies) {
+            total += frequency;
+        }
+        assert (total <= Integer.MAX_VALUE);
+        assert (frequencies[0] > 0 && frequencies[1] > 0);
+        assert (Math.abs(frequencies[0] - 2L * frequencies[1]) <= 1);
+        assert (frequencies[2] == 1 && frequencies[3] == 0);
+    }
+}
@@ -0,0 +1,163 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.BitInputStream;
+import edu.frostburg.cosc610.huffmanencoder.BitOutputStream;
+import edu.frostburg.cosc610.huffmanencoder.HuffmanDecoder;
+import edu.frostburg.cosc610.huffmanencoder.HuffmanEncoder;
+import edu.frostburg.cosc610.huffmanencoder.TreeBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A test class for the HuffmanDecoder
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class HuffmanDecoderTest {
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        roundTripTest();
+        longCodeTest();
+        limitedLengthTest();
+        twoQueueTest();
+        singleCharacterTest();
+        sharedTest();
+        System.out.println("HuffmanDecoder tests passed");
+    }
+
+    public static void roundTripTest() throws IOException {
+        Random random = new Random(42);
+        int[] frequencies = new int[256];
+        char[] text = new char[10000];
+        for (int i = 0; i < text.length; ++i) {
+            text[i] = (char) ('a' + Math.min(25, (int) Math.abs(random.nextGaussian() * 6)));
+            frequencies[text[i]]++;
+        }
+        assertRoundTrip(new HuffmanEncoder(frequencies), text);
+    }
+
+    public static void longCodeTest() throws IOException {
+        //Fibonacci frequencies produce the deepest possible tree
+        int[] frequencies = new int[256];
+        int previous = 1;
+        int current = 1;
+        StringBuilder builder = new StringBuilder();
+        for (char c = 'A'; c < 'A' + 25; ++c) {
+            frequencies[c] = current;
+            int next = previous + current;
+            previous = current;
+            current = next;
+            builder.append(c);
+        }
+        assertRoundTrip(new HuffmanEncoder(frequencies), builder.toString().toCharArray());
+    }
+
+    public static void limitedLengthTest() throws IOException {
+        int[] frequencies = new int[256];
+        int previous = 1;
+        int current = 1;
+        StringBuilder builder = new StringBuilder();
+        for (char c = 'A'; c < 'A' + 40; ++c) {
+            frequencies[c] = current;
+            int next = previous + current;
+            previous = current;
+            current = next;
+            builder.append(c);
+        }
+        HuffmanEncoder unlimited = new HuffmanEncoder(frequencies);
+        assert (unlimited.getCodebook().getMaxLength() == 39);
+        HuffmanEncoder limited = new HuffmanEncoder(frequencies, 12);
+        assert (limited.getCodebook().getMaxLength() == 12);
+        assertRoundTrip(limited, builder.toString().toCharArray());
+        //equal frequencies need no limiting and keep their balanced lengths
+        int[] flat = new int[256];
+        for (int i = 0; i < 64; ++i) {
+            flat[i] = 10;
+        }
+        assert (new HuffmanEncoder(flat, 6).getCodebook().getMaxLength() == 6);
+    }
+
+    public static void twoQueueTest() throws IOException {
+        Random random = new Random(9);
+        int[] frequencies = new int[65536];
+        char[] text = new char[20000];
+        for (int i = 0; i < text.length; ++i) {
+            text[i] = (char) (random.nextInt(3) == 0 ? 0x3000 + random.nextInt(500) : 'a' + random.nextInt(20));
+            frequencies[text[i]]++;
+        }
+        HuffmanEncoder heap = new HuffmanEncoder(frequencies);
+        HuffmanEncoder twoQueue = new HuffmanEncoder(frequencies, 56, TreeBuilder.TWO_QUEUE);
+        long heapBits = 0;
+        long twoQueueBits = 0;
+        for (int i = 0; i < frequencies.length; ++i) {
+            heapBits += (long) frequencies[i] * heap.getCodebook().getLength(i);
+            twoQueueBits += (long) frequencies[i] * twoQueue.getCodebook().getLength(i);
+        }
+        assert (heapBits == twoQueueBits);
+        assertRoundTrip(twoQueue, text);
+    }
+
+    public static void singleCharacterTest() throws IOException {
+        int[] frequencies = new int[256];
+        frequencies['x'] = 5;
+        assertRoundTrip(new HuffmanEncoder(frequencies), "xxxxx".toCharArray());
+    }
+
+    public static void sharedTest() throws InterruptedException, ExecutionException {
+        int[] frequencies = new int[256];
+        for (int i = 0; i < frequencies.length; ++i) {
+            frequencies[i] = 1 + i % 17;
+        }
+        final HuffmanEncoder encoder = new HuffmanEncoder(frequencies);
+        //changing the caller's table must not change the encoder
+        frequencies['a'] = 1000000;
+        assert (encoder.getSymbolCount() != new HuffmanEncoder(frequencies).getSymbolCount());
+        final HuffmanDecoder decoder = new HuffmanDecoder(encoder);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 64; ++task) {
+                final int seed = task;
+                results.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    char[] text = new char[5000];
+                    for (int i = 0; i < text.length; ++i) {
+                        text[i] = (char) random.nextInt(256);
+                    }
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    try (BitOutputStream out = new BitOutputStream(bytes)) {
+                        encoder.encode(text, text.length, out);
+                    }
+                    char[] decoded = new char[text.length];
+                    decoder.decode(new BitInputStream(new ByteArrayInputStream(bytes.toByteArray())), decoded, decoded.length);
+                    return new String(decoded).equals(new String(text));
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assert (result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void assertRoundTrip(HuffmanEncoder encoder, char[] text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BitOutputStream out = new BitOutputStream(bytes)) {
+            encoder.encode(text, text.length, out);
+        }
+        HuffmanDecoder decoder = new HuffmanDecoder(encoder);
+        char[] decoded = new char[text.length];
+        decoder.decode(new BitInputStream(new ByteArrayInputStream(bytes.toByteArray())), decoded, decoded.length);
+        assert (new String(decoded).equals(new String(text)));
+    }
+}
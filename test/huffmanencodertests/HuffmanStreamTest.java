@@ -0,0 +1,152 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.HuffmanChannels;
+import edu.frostburg.cosc610.huffmanencoder.HuffmanInputStream;
+import edu.frostburg.cosc610.huffmanencoder.HuffmanOutputStream;
+import edu.frostburg.cosc610.huffmanencoder.MappedFileCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A test class for the HuffmanOutputStream, HuffmanInputStream and
+ * HuffmanChannels
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class HuffmanStreamTest {
+
+    public static void main(String[] args) throws IOException {
+        byte[] bytes = sample(100000);
+        for (int blockSize : new int[]{1 << 20, 4096, 1}) {
+            streamTest(bytes, blockSize);
+            channelTest(bytes, blockSize);
+        }
+        streamTest(new byte[0], 16);
+        streamTest(mixed(), 4096);
+        flushTest();
+        System.out.println("HuffmanStream tests passed");
+    }
+
+    public static void streamTest(byte[] bytes, int blockSize) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (OutputStream out = new HuffmanOutputStream(encoded, blockSize)) {
+            //mix single bytes with writes of assorted lengths
+            int i = 0;
+            Random random = new Random(blockSize);
+            while (i < bytes.length) {
+                if (random.nextBoolean()) {
+                    out.write(bytes[i++]);
+                } else {
+                    int length = Math.min(bytes.length - i, random.nextInt(5000));
+                    out.write(bytes, i, length);
+                    i += length;
+                }
+            }
+        }
+        //tiny blocks are stored and cost more than they hold
+        assert (blockSize < 1000 || bytes.length < 1000 || encoded.size() < bytes.length);
+        assert (Arrays.equals(bytes, readAll(new HuffmanInputStream(new ByteArrayInputStream(encoded.toByteArray())))));
+        //the output is an ordinary byte stream
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        MappedFileCodec.decode(new ByteArrayInputStream(encoded.toByteArray()), decoded);
+        assert (Arrays.equals(bytes, decoded.toByteArray()));
+    }
+
+    public static void channelTest(byte[] bytes, int blockSize) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = HuffmanChannels.newEncoder(Channels.newChannel(encoded), blockSize)) {
+            //a direct buffer written in slices
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+            while (buffer.hasRemaining()) {
+                ByteBuffer slice = buffer.duplicate();
+                slice.limit(Math.min(buffer.limit(), slice.position() + 7777));
+                channel.write(slice);
+                buffer.position(slice.position());
+            }
+        }
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (ReadableByteChannel channel = HuffmanChannels.newDecoder(Channels.newChannel(new ByteArrayInputStream(encoded.toByteArray())))) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1000);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    decoded.write(buffer.get());
+                }
+                buffer.clear();
+            }
+        }
+        assert (Arrays.equals(bytes, decoded.toByteArray()));
+    }
+
+    public static void flushTest() throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        HuffmanOutputStream out = new HuffmanOutputStream(encoded);
+        byte[] first = sample(300);
+        out.write(first);
+        out.flush();
+        //everything written before a flush can be decoded before the stream ends
+        InputStream in = new HuffmanInputStream(new ByteArrayInputStream(encoded.toByteArray()));
+        byte[] decoded = new byte[first.length];
+        int n = 0;
+        while (n < decoded.length) {
+            n += in.read(decoded, n, decoded.length - n);
+        }
+        assert (Arrays.equals(first, decoded));
+        out.close();
+        try {
+            out.write(1);
+            assert (false);
+        } catch (IOException ex) {
+            //expected
+        }
+    }
+
+    /*
+     * Creates blocks that alternate between many byte values and a few, so
+     * each block's decoder reuses arrays sized for a different codebook
+     */
+    private static byte[] mixed() {
+        Random random = new Random(22);
+        byte[] bytes = new byte[12 * 4096];
+        for (int i = 0; i < bytes.length; ++i) {
+            double spread = i / 4096 % 2 == 0 ? 40 : 4;
+            bytes[i] = (byte) Math.min(255, (int) Math.abs(random.nextGaussian() * spread));
+        }
+        return bytes;
+    }
+
+    /*
+     * Creates skewed bytes with a few long runs
+     */
+    private static byte[] sample(int length) {
+        Random random = new Random(length);
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            bytes[i] = (byte) (i % 10000 < 500 ? 0 : 'a' + Math.min(25, (int) Math.abs(random.nextGaussian() * 4)));
+        }
+        return bytes;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[333];
+        int bytesRead = in.read(buffer);
+        while (bytesRead != -1) {
+            bytes.write(buffer, 0, bytesRead);
+            bytesRead = in.read(buffer);
+        }
+        in.close();
+        return bytes.toByteArray();
+    }
+}
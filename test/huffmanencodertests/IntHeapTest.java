@@ -0,0 +1,125 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.IntHeap;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A test class for the IntHeap
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class IntHeapTest {
+
+    public static void main(String[] args) {
+        for (int arity : new int[]{IntHeap.BINARY, IntHeap.QUATERNARY, 16}) {
+            orderTest(arity);
+            heapifyTest(arity);
+            decreaseKeyTest(arity);
+        }
+        tieTest();
+        invalidTest();
+        System.out.println("IntHeap tests passed");
+    }
+
+    public static void orderTest(int arity) {
+        Random random = new Random(arity);
+        int[] priorities = new int[1000];
+        IntHeap heap = new IntHeap(priorities.length, arity);
+        for (int i = 0; i < priorities.length; ++i) {
+            priorities[i] = random.nextInt(100) - 50;
+            heap.insert(i, priorities[i]);
+            assert (heap.size() == i + 1);
+        }
+        assertSorted(heap, priorities);
+        assert (heap.remove() == -1);
+    }
+
+    public static void heapifyTest(int arity) {
+        Random random = new Random(arity + 1);
+        for (int n : new int[]{0, 1, 2, 3, 5, 17, 1000}) {
+            int[] priorities = new int[n];
+            for (int i = 0; i < n; ++i) {
+                priorities[i] = random.nextInt(1 << 20);
+            }
+            IntHeap heap = IntHeap.heapify(priorities, n, arity);
+            assert (heap.size() == n);
+            for (int i = 0; i < n; ++i) {
+                assert (heap.contains(i));
+            }
+            assertSorted(heap, priorities);
+        }
+    }
+
+    public static void decreaseKeyTest(int arity) {
+        Random random = new Random(arity + 2);
+        int[] priorities = new int[500];
+        for (int i = 0; i < priorities.length; ++i) {
+            priorities[i] = random.nextInt(1000);
+        }
+        IntHeap heap = IntHeap.heapify(priorities, priorities.length, arity);
+        for (int i = 0; i < priorities.length; i += 3) {
+            priorities[i] -= random.nextInt(2000);
+            heap.decreaseKey(i, priorities[i]);
+        }
+        //removed indices can be inserted again
+        int first = heap.remove();
+        assert (!heap.contains(first));
+        heap.insert(first, priorities[first]);
+        assertSorted(heap, priorities);
+    }
+
+    public static void tieTest() {
+        IntHeap heap = IntHeap.heapify(new int[]{7, 7, 7, 7, 7}, 5, IntHeap.QUATERNARY);
+        for (int i = 0; i < 5; ++i) {
+            assert (heap.peekPriority() == 7);
+            assert (heap.remove() == i);
+        }
+    }
+
+    public static void invalidTest() {
+        IntHeap heap = new IntHeap(2);
+        heap.insert(0, 5);
+        assertThrows(() -> heap.insert(0, 1));
+        assertThrows(() -> heap.insert(2, 1));
+        assertThrows(() -> heap.decreaseKey(0, 6));
+        assertThrows(() -> heap.decreaseKey(1, 0));
+        assertThrows(() -> new IntHeap(4, 3));
+        assertThrows(() -> IntHeap.heapify(new int[3], 2, IntHeap.BINARY));
+        heap.remove();
+        try {
+            heap.peekPriority();
+            assert (false);
+        } catch (IllegalStateException ex) {
+            //expected
+        }
+    }
+
+    /*
+     * Removes every index and checks that the priorities come out in order
+     */
+    private static void assertSorted(IntHeap heap, int[] priorities) {
+        int[] expected = priorities.clone();
+        Arrays.sort(expected);
+        for (int i = 0; i < expected.length; ++i) {
+            int priority = heap.peekPriority();
+            int index = heap.remove();
+            assert (priority == expected[i]);
+            assert (priorities[index] == priority);
+        }
+        assert (heap.size() == 0);
+    }
+
+    /*
+     * Checks that the given action is rejected with an IllegalArgumentException
+     */
+    private static void assertThrows(Runnable action) {
+        try {
+            action.run();
+            assert (false);
+        } catch (IllegalArgumentException ex) {
+            //expected
+        }
+    }
+}
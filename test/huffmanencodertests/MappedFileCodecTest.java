@@ -0,0 +1,116 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.MappedFileCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A test class for the MappedFileCodec
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class MappedFileCodecTest {
+
+    public static void main(String[] args) throws IOException {
+        roundTripTest(new byte[0]);
+        //every byte value, including those that are not valid UTF-8
+        byte[] bytes = new byte[50000];
+        Random random = new Random(12);
+        for (int i = 0; i < bytes.length; ++i) {
+            bytes[i] = (byte) (random.nextInt(4) == 0 ? random.nextInt(256) : random.nextInt(8));
+        }
+        roundTripTest(bytes);
+        storedTest();
+        runTest();
+        truncatedTest();
+        negativeCountTest();
+        System.out.println("MappedFileCodec tests passed");
+    }
+
+    public static void storedTest() throws IOException {
+        byte[] bytes = new byte[50000];
+        new Random(13).nextBytes(bytes);
+        //random bytes cannot be compressed, so they are stored with only a few bytes of framing
+        assert (roundTripTest(bytes) <= bytes.length + 16);
+    }
+
+    public static void runTest() throws IOException {
+        byte[] bytes = new byte[50000];
+        Arrays.fill(bytes, 10000, 40000, (byte) 0xFF);
+        assert (roundTripTest(bytes) < 64);
+    }
+
+    public static void truncatedTest() throws IOException {
+        //STORED blocks claiming about 2GB and 4GB, followed by only a few bytes
+        for (int top : new int[]{0x07, 0x0F}) {
+            assertInvalid(6, 0xF7, 0xFF, 0xFF, 0xFF, top, 1, 2, 3);
+        }
+        //RUN blocks claiming about 2GB and 4GB, followed by a single short run
+        for (int top : new int[]{0x07, 0x0F}) {
+            assertInvalid(7, 0xF7, 0xFF, 0xFF, 0xFF, top, 1, 2);
+        }
+    }
+
+    public static void negativeCountTest() throws IOException {
+        //a tenth count byte of 1 sets the sign bit, and a larger one does not fit in a long
+        for (int tenth : new int[]{0x01, 0x02, 0x81}) {
+            assertInvalid(6, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, tenth, 1, 2, 3);
+        }
+    }
+
+    /*
+     * Checks that a stream holding the given block after a valid header fails with an IOException
+     */
+    private static void assertInvalid(int... block) throws IOException {
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        Path file = Files.createTempFile("mapped", ".bin");
+        try {
+            MappedFileCodec.encode(file, empty);
+        } finally {
+            Files.delete(file);
+        }
+        ByteArrayOutputStream corrupt = new ByteArrayOutputStream();
+        corrupt.write(empty.toByteArray(), 0, 4);
+        for (int b : block) {
+            corrupt.write(b);
+        }
+        try {
+            MappedFileCodec.decode(new ByteArrayInputStream(corrupt.toByteArray()), new ByteArrayOutputStream());
+            assert (false);
+        } catch (IOException ex) {
+            //expected, without allocating the claimed size
+        }
+    }
+
+    /*
+     * Encodes the given bytes both ways and checks that they decode again
+     * @return the size of the single-stream encoding
+     */
+    private static int roundTripTest(byte[] bytes) throws IOException {
+        Path file = Files.createTempFile("mapped", ".bin");
+        try {
+            Files.write(file, bytes);
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            MappedFileCodec.encode(file, encoded);
+            ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+            long size = MappedFileCodec.decode(new ByteArrayInputStream(encoded.toByteArray()), decoded);
+            assert (size == bytes.length);
+            assert (Arrays.equals(bytes, decoded.toByteArray()));
+            int encodedSize = encoded.size();
+            encoded.reset();
+            MappedFileCodec.encode(file, encoded, true);
+            decoded.reset();
+            MappedFileCodec.decode(new ByteArrayInputStream(encoded.toByteArray()), decoded);
+            assert (Arrays.equals(bytes, decoded.toByteArray()));
+            return encodedSize;
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
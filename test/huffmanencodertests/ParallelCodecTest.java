@@ -0,0 +1,111 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.BlockDecoder;
+import edu.frostburg.cosc610.huffmanencoder.ParallelCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A test class for the ParallelCodec
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class ParallelCodecTest {
+
+    public static void main(String[] args) throws IOException {
+        String text = randomText(100000);
+        ParallelCodec codec = new ParallelCodec(new ForkJoinPool(4), 4096);
+        arrayTest(codec, text);
+        readerTest(codec, text);
+        blockDecoderTest(codec, text);
+        corruptIndexTest(codec);
+        System.out.println("ParallelCodec tests passed");
+    }
+
+    public static void arrayTest(ParallelCodec codec, String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.encode(text.toCharArray(), 0, text.length(), bytes);
+        assert (decode(codec, bytes.toByteArray()).equals(text));
+    }
+
+    public static void readerTest(ParallelCodec codec, String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.encode(new StringReader(text), bytes);
+        assert (decode(codec, bytes.toByteArray()).equals(text));
+        bytes.reset();
+        codec.encode(new StringReader(""), bytes);
+        assert (decode(codec, bytes.toByteArray()).isEmpty());
+    }
+
+    public static void blockDecoderTest(ParallelCodec codec, String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.encode(new StringReader(text), bytes);
+        StringBuilder builder = new StringBuilder();
+        try (BlockDecoder decoder = new BlockDecoder(new ByteArrayInputStream(bytes.toByteArray()))) {
+            char[] buffer = new char[1000];
+            int charsRead = decoder.read(buffer);
+            while (charsRead != -1) {
+                builder.append(buffer, 0, charsRead);
+                charsRead = decoder.read(buffer);
+            }
+        }
+        assert (builder.toString().equals(text));
+    }
+
+    public static void corruptIndexTest(ParallelCodec codec) throws IOException {
+        //an index of no blocks is empty, not an error
+        assert (decode(codec, stream(2, 0, 0)).isEmpty());
+        //a STORED block of 3 chars that the index says holds 5
+        assertInvalid(codec, stream(2, 1, 8, 5, 6, 3, 0, 'a', 0, 'b', 0, 'c', 0));
+        //a block the index says is about 2GB, followed by only a few bytes
+        assertInvalid(codec, stream(2, 1, 0xF7, 0xFF, 0xFF, 0xFF, 0x07, 3, 6, 3, 0));
+    }
+
+    /*
+     * Builds a stream holding the given bytes after the header
+     */
+    private static byte[] stream(int... body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write('H');
+        bytes.write('U');
+        bytes.write('F');
+        bytes.write(1);
+        for (int b : body) {
+            bytes.write(b);
+        }
+        return bytes.toByteArray();
+    }
+
+    /*
+     * Checks that decoding the given stream fails with an IOException
+     */
+    private static void assertInvalid(ParallelCodec codec, byte[] bytes) {
+        try {
+            decode(codec, bytes);
+            assert (false);
+        } catch (IOException ex) {
+            //expected
+        }
+    }
+
+    private static String decode(ParallelCodec codec, byte[] bytes) throws IOException {
+        CharArrayWriter writer = new CharArrayWriter();
+        codec.decode(new ByteArrayInputStream(bytes), writer);
+        return writer.toString();
+    }
+
+    private static String randomText(int length) {
+        Random random = new Random(3);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; ++i) {
+            builder.append((char) ('a' + Math.min(25, (int) Math.abs(random.nextGaussian() * 5))));
+        }
+        return builder.toString();
+    }
+}
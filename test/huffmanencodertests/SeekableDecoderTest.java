@@ -0,0 +1,156 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.HuffmanInputStream;
+import edu.frostburg.cosc610.huffmanencoder.HuffmanOutputStream;
+import edu.frostburg.cosc610.huffmanencoder.MappedFileCodec;
+import edu.frostburg.cosc610.huffmanencoder.SeekableDecoder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A test class for the SeekableDecoder
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class SeekableDecoderTest {
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("seekable", ".bin");
+        try {
+            byte[] bytes = sample(200000);
+            write(file, bytes, 4096);
+            rangeTest(file, bytes);
+            readTest(file, bytes);
+            sequentialTest(file, bytes);
+            write(file, new byte[0], 16);
+            emptyTest(file);
+            invalidTest(file, bytes);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        System.out.println("SeekableDecoder tests passed");
+    }
+
+    public static void rangeTest(Path file, byte[] bytes) throws IOException {
+        try (SeekableDecoder decoder = new SeekableDecoder(file)) {
+            assert (decoder.size() == bytes.length);
+            assert (decoder.getBlockCount() == (bytes.length + 4095) / 4096);
+            Random random = new Random(24);
+            for (int i = 0; i < 500; ++i) {
+                //ranges inside one block, across block boundaries and across many blocks
+                int length = random.nextInt(i % 10 == 0 ? 20000 : 100);
+                int offset = random.nextInt(bytes.length - length + 1);
+                assert (Arrays.equals(Arrays.copyOfRange(bytes, offset, offset + length), decoder.readRange(offset, length)));
+            }
+            assert (Arrays.equals(Arrays.copyOfRange(bytes, 4090, 4100), decoder.readRange(4090, 10)));
+            assert (decoder.readRange(bytes.length, 0).length == 0);
+            assert (decoder.position() == 0);
+            for (long[] range : new long[][]{{-1, 1}, {0, -1}, {bytes.length, 1}, {bytes.length - 5, 6}}) {
+                try {
+                    decoder.readRange(range[0], (int) range[1]);
+                    assert (false);
+                } catch (IllegalArgumentException ex) {
+                    //expected
+                }
+            }
+        }
+    }
+
+    public static void readTest(Path file, byte[] bytes) throws IOException {
+        try (SeekableDecoder decoder = new SeekableDecoder(file)) {
+            ByteBuffer buffer = ByteBuffer.allocate(5000);
+            decoder.seek(123456);
+            assert (decoder.read(buffer) == 5000);
+            assert (decoder.position() == 128456);
+            assert (Arrays.equals(Arrays.copyOfRange(bytes, 123456, 128456), buffer.array()));
+            //reading backwards
+            buffer.clear();
+            decoder.position(10);
+            assert (decoder.read(buffer) == 5000);
+            assert (Arrays.equals(Arrays.copyOfRange(bytes, 10, 5010), buffer.array()));
+            buffer.clear();
+            decoder.seek(bytes.length - 100);
+            assert (decoder.read(buffer) == 100);
+            assert (decoder.read(buffer) == -1);
+            decoder.seek(bytes.length + 100);
+            assert (decoder.read(buffer) == -1);
+        }
+    }
+
+    public static void sequentialTest(Path file, byte[] bytes) throws IOException {
+        //the directory is skipped by the sequential readers
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (InputStream in = new HuffmanInputStream(Files.newInputStream(file))) {
+            byte[] buffer = new byte[1000];
+            int bytesRead = in.read(buffer);
+            while (bytesRead != -1) {
+                decoded.write(buffer, 0, bytesRead);
+                bytesRead = in.read(buffer);
+            }
+        }
+        assert (Arrays.equals(bytes, decoded.toByteArray()));
+        decoded.reset();
+        MappedFileCodec.decode(new ByteArrayInputStream(Files.readAllBytes(file)), decoded);
+        assert (Arrays.equals(bytes, decoded.toByteArray()));
+    }
+
+    public static void emptyTest(Path file) throws IOException {
+        try (SeekableDecoder decoder = new SeekableDecoder(file)) {
+            assert (decoder.size() == 0);
+            assert (decoder.getBlockCount() == 0);
+            assert (decoder.read(ByteBuffer.allocate(10)) == -1);
+        }
+    }
+
+    public static void invalidTest(Path file, byte[] bytes) throws IOException {
+        //a stream without a directory
+        try (OutputStream out = new HuffmanOutputStream(Files.newOutputStream(file), 4096)) {
+            out.write(bytes);
+        }
+        try {
+            new SeekableDecoder(file).close();
+            assert (false);
+        } catch (IOException ex) {
+            //expected
+        }
+        SeekableDecoder decoder = new SeekableDecoder(write(file, bytes, 4096));
+        decoder.close();
+        try {
+            decoder.readRange(0, 1);
+            assert (false);
+        } catch (IOException ex) {
+            //expected
+        }
+    }
+
+    /*
+     * Writes the given bytes to the file as a seekable stream
+     */
+    private static Path write(Path file, byte[] bytes, int blockSize) throws IOException {
+        try (OutputStream out = new HuffmanOutputStream(Files.newOutputStream(file), blockSize, true)) {
+            out.write(bytes);
+        }
+        return file;
+    }
+
+    /*
+     * Creates skewed bytes with a few long runs
+     */
+    private static byte[] sample(int length) {
+        Random random = new Random(length);
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            bytes[i] = (byte) (i % 10000 < 500 ? 0 : 'a' + Math.min(25, (int) Math.abs(random.nextGaussian() * 4)));
+        }
+        return bytes;
+    }
+}
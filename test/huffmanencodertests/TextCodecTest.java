@@ -0,0 +1,75 @@
+package huffmanencodertests;
+
+import edu.frostburg.cosc610.huffmanencoder.CodePointHistogram;
+import edu.frostburg.cosc610.huffmanencoder.SymbolModel;
+import edu.frostburg.cosc610.huffmanencoder.TextCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * A test class for the TextCodec and CodePointHistogram
+ *
+ * @author Kerwin Yoder
+ * @version 2026.10.18
+ */
+public class TextCodecTest {
+
+    public static void main(String[] args) throws IOException {
+        histogramTest();
+        String text = emojiText();
+        for (SymbolModel model : SymbolModel.values()) {
+            roundTripTest("", model);
+            roundTripTest(text, model);
+        }
+        //unpaired surrogates survive every model except UTF-8
+        roundTripTest("a\uD83Db\uDE00", SymbolModel.CHAR);
+        roundTripTest("a\uD83Db\uDE00", SymbolModel.CODE_POINT);
+        //one symbol per emoji instead of two surrogates
+        assert (roundTripTest(text, SymbolModel.CODE_POINT) == text.codePointCount(0, text.length()));
+        System.out.println("TextCodec tests passed");
+    }
+
+    public static void histogramTest() {
+        CodePointHistogram histogram = new CodePointHistogram();
+        char[] characters = "a😀b😀\uD83D".toCharArray();
+        histogram.count(characters, 0, characters.length);
+        assert (histogram.get(0x1F600) == 2);
+        assert (histogram.get(0xD83D) == 1);
+        assert (histogram.get(0xDE00) == 0);
+        assert (histogram.size() == 4 && histogram.getTotal() == 5);
+        //grow well past the initial capacity
+        for (int codePoint = 0x20000; codePoint < 0x20000 + 5000; ++codePoint) {
+            histogram.add(codePoint, codePoint & 7);
+        }
+        for (int codePoint = 0x20000; codePoint < 0x20000 + 5000; ++codePoint) {
+            assert (histogram.get(codePoint) == (codePoint & 7));
+        }
+        assert (histogram.toFrequencyTable().getDistinctCount() == histogram.size());
+    }
+
+    public static long roundTripTest(String text, SymbolModel model) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long symbols = TextCodec.encode(text, model, bytes);
+        String decoded = TextCodec.decode(new ByteArrayInputStream(bytes.toByteArray()), model);
+        assert (text.equals(decoded));
+        return symbols;
+    }
+
+    private static String emojiText() {
+        Random random = new Random(17);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20000; ++i) {
+            int r = random.nextInt(10);
+            if (r < 4) {
+                builder.appendCodePoint(0x1F600 + random.nextInt(40));
+            } else if (r < 8) {
+                builder.append((char) (0x4E00 + random.nextInt(300)));
+            } else {
+                builder.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return builder.toString();
+    }
+}